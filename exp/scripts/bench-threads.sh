@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Platform thread vs virtual thread karşılaştırması.
+# Uygulamayı iki modda sırayla açar, aynı yükü (hey) uygular ve özetleri yan yana basar.
+#
+# Gereksinimler: Java 21+, hey (https://github.com/rakyll/hey), erişilebilir bir PostgreSQL.
+# Kullanım:  ./scripts/bench-threads.sh [concurrency] [requests] [path]
+set -euo pipefail
+
+CONCURRENCY=${1:-2000}
+REQUESTS=${2:-50000}
+TARGET_PATH=${3:-/api/tasks/page?limit=20}
+PORT=${PORT:-8080}
+JAR=$(ls target/*.jar | grep -v original | head -n1)
+
+run_mode() {
+  local mode=$1 profiles=$2
+  echo "=== $mode (profiles: ${profiles:-default}) ==="
+  SPRING_PROFILES_ACTIVE="$profiles" java -jar "$JAR" --server.port="$PORT" > "target/bench-$mode.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+
+  # Isınma
+  hey -z 10s -c 50 "http://localhost:$PORT$TARGET_PATH" > /dev/null
+  hey -n "$REQUESTS" -c "$CONCURRENCY" "http://localhost:$PORT$TARGET_PATH" \
+    | tee "target/bench-$mode.txt" \
+    | grep -E "Requests/sec|Average|Slowest|  50%|  99%|Status code|\[[0-9]+\]"
+
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+[ -n "$JAR" ] || { echo "Önce: ./mvnw -DskipTests package"; exit 1; }
+
+run_mode platform ""
+run_mode virtual "virtual-threads"
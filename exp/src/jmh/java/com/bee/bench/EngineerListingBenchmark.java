@@ -0,0 +1,98 @@
+package com.bee.bench;
+
+import com.bee.exp.ExpApplication;
+import com.bee.exp.domain.*;
+import com.bee.exp.repository.CompanyRepository;
+import com.bee.exp.repository.TaskRepository;
+import com.bee.exp.repository.TaskSubmissionRepository;
+import com.bee.exp.repository.UserRepository;
+import com.bee.exp.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService.listTasksForEngineer: açık görevler + engineer'ın submission'ları birleştirmesi.
+ * Uygulama, PostgreSQL modunda çalışan gömülü H2 üzerinde tam context ile ayağa kaldırılır;
+ * böylece entity graph'lar ve Hibernate tarafı da ölçüme dahil olur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class EngineerListingBenchmark {
+
+    @Param({"100", "1000"})
+    public int publishedTasks;
+
+    @Param({"10", "100"})
+    public int mySubmissions;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private User engineer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = SpringApplication.run(ExpApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        seed(context.getBean(UserRepository.class),
+                context.getBean(CompanyRepository.class),
+                context.getBean(TaskRepository.class),
+                context.getBean(TaskSubmissionRepository.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> listTasksForEngineer() {
+        return taskService.listTasksForEngineer(engineer);
+    }
+
+    private void seed(UserRepository users, CompanyRepository companies,
+                      TaskRepository tasks, TaskSubmissionRepository submissions) {
+        User owner = users.save(User.builder()
+                .email("owner@bench.dev").passwordHash("x").role(Role.COMPANY).fullName("Bench Owner").build());
+        engineer = users.save(User.builder()
+                .email("engineer@bench.dev").passwordHash("x").role(Role.ENGINEER).fullName("Bench Engineer").build());
+        Company company = companies.save(Company.builder().name("Bench Co").owner(owner).build());
+
+        TaskDifficulty[] difficulties = TaskDifficulty.values();
+        List<Task> batch = new ArrayList<>(publishedTasks + mySubmissions);
+        for (int i = 0; i < publishedTasks + mySubmissions; i++) {
+            boolean mine = i >= publishedTasks;
+            batch.add(Task.builder()
+                    .title("Task " + i)
+                    .description("Benchmark görevi " + i)
+                    .difficulty(difficulties[i % difficulties.length])
+                    .price(100 + i)
+                    .status(mine ? TaskStatus.CLAIMED : TaskStatus.PUBLISHED)
+                    .company(company)
+                    .assignedTo(mine ? engineer : null)
+                    .build());
+        }
+        List<Task> saved = tasks.saveAll(batch);
+
+        List<TaskSubmission> subs = new ArrayList<>(mySubmissions);
+        for (Task t : saved.subList(publishedTasks, saved.size())) {
+            subs.add(TaskSubmission.builder().task(t).engineer(engineer).build());
+        }
+        submissions.saveAll(subs);
+    }
+}
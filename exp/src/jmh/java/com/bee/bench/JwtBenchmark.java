@@ -0,0 +1,40 @@
+package com.bee.bench;
+
+import com.bee.exp.domain.Role;
+import com.bee.exp.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Her istekte JwtAuthFilter'ın yaptığı parse ile login/register'daki token üretimi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil("bench-secret-bench-secret-bench-secret-32", 86_400_000L);
+        token = jwtUtil.generateToken(42L, Role.ENGINEER, "bench@bee.dev", "Bench Engineer");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, Role.ENGINEER, "bench@bee.dev", "Bench Engineer");
+    }
+
+    @Benchmark
+    public Jws<Claims> parseToken() {
+        return jwtUtil.parse(token);
+    }
+}
@@ -0,0 +1,76 @@
+package com.bee.bench;
+
+import com.bee.exp.domain.Company;
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.domain.User;
+import com.bee.exp.web.TaskController;
+import com.bee.exp.web.dto.TaskResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/tasks yolunun CPU tarafı: entity → TaskResponse eşlemesi ve liste serileştirmesi.
+ * ObjectMapper, Spring Boot'un kurduğu ile aynı builder'dan alınır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskResponseBenchmark {
+
+    @Param({"20", "200", "2000"})
+    public int size;
+
+    private List<Task> tasks;
+    private List<TaskResponse> responses;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        TaskDifficulty[] difficulties = TaskDifficulty.values();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User owner = User.builder().id((long) i % 10).fullName("Owner " + i % 10).build();
+            Company company = Company.builder().id((long) i % 10).name("Company " + i % 10).owner(owner).build();
+            User engineer = i % 3 == 0 ? User.builder().id(1000L + i).fullName("Engineer " + i).build() : null;
+            tasks.add(Task.builder()
+                    .id((long) i + 1)
+                    .title("Task " + i)
+                    .description("Açıklama metni, biraz uzun olsun diye tekrar tekrar yazılmış bir cümle. " + i)
+                    .difficulty(difficulties[i % difficulties.length])
+                    .price(100 + i)
+                    .status(engineer != null ? TaskStatus.CLAIMED : TaskStatus.PUBLISHED)
+                    .company(company)
+                    .assignedTo(engineer)
+                    .build());
+        }
+        responses = TaskController.toResponses(tasks);
+    }
+
+    @Benchmark
+    public List<TaskResponse> mapToResponses() {
+        return TaskController.toResponses(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(TaskController.toResponses(tasks));
+    }
+}
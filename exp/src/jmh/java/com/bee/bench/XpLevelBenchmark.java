@@ -0,0 +1,33 @@
+package com.bee.bench;
+
+import com.bee.exp.service.XpService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XpLevelBenchmark {
+
+    private int[] xps;
+    private int index;
+
+    @Setup
+    public void setup() {
+        // Seviye sınırlarının iki tarafını da kapsayan sabit bir dağılım
+        xps = new int[1024];
+        for (int i = 0; i < xps.length; i++) {
+            xps[i] = (i * 7919) % 700;
+        }
+    }
+
+    @Benchmark
+    public int calcLevel() {
+        int xp = xps[index++ & (xps.length - 1)];
+        return XpService.calcLevel(xp);
+    }
+}
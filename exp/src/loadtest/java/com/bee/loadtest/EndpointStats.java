@@ -0,0 +1,54 @@
+package com.bee.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tek bir endpoint için gecikme ve hata sayıları. Gecikmeler ham olarak tutulur,
+ * yüzdelikler rapor anında sıralanarak hesaplanır (yük testi süresi için yeterli).
+ */
+class EndpointStats {
+
+    private final String name;
+    private final LongAdder errors = new LongAdder();
+    private long[] latenciesNanos = new long[1024];
+    private int size;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    synchronized void record(long nanos) {
+        if (size == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, size * 2);
+        }
+        latenciesNanos[size++] = nanos;
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    synchronized int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    /** q: 0..1 arası, milisaniye döner. */
+    synchronized double percentileMillis(double q) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latenciesNanos, size);
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(q * size) - 1;
+        return sorted[Math.max(0, Math.min(idx, size - 1))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,242 @@
+package com.bee.loadtest;
+
+import com.bee.exp.ExpApplication;
+import com.bee.exp.domain.*;
+import com.bee.exp.repository.CompanyRepository;
+import com.bee.exp.repository.TaskRepository;
+import com.bee.exp.repository.UserRepository;
+import com.bee.exp.security.JwtUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uçtan uca yük testi.
+ *
+ * <pre>
+ *   --engineers=500      seed edilen engineer sayısı
+ *   --companies=20       seed edilen şirket (ve sahibi) sayısı
+ *   --tasks=2000         seed edilen PUBLISHED görev sayısı
+ *   --concurrency=32     eşzamanlı sanal kullanıcı
+ *   --duration=60s       ölçüm süresi (öncesinde duration/6 kadar ısınma yapılır)
+ *   --mix=register:2,login:8,list:50,claim:20,submit:12,approve:8
+ *   --jdbc-url=...       verilirse gömülü PostgreSQL yerine bu veritabanı kullanılır
+ *   --profiles=prod      uygulamanın Spring profilleri (boş → varsayılan ayarlar)
+ * </pre>
+ *
+ * Üretim ayarlarını varsayılanlarla karşılaştırmak için aynı yük iki kez çalıştırılır; şirket
+ * sorgularını (findByOwner) ağırlıklı kullanan bir karışım:
+ * <pre>
+ *   -Dloadtest.args="--mix=list:30,company:30,create:10,claim:15,submit:10,approve:5"
+ *   -Dloadtest.args="--mix=list:30,company:30,create:10,claim:15,submit:10,approve:5 --profiles=prod"
+ * </pre>
+ * sql/req kolonunda 2. seviye / query cache'in etkisi doğrudan görülür.
+ *
+ * Sonuçta endpoint başına istek/hata sayısı, throughput, p50/p99 ve istek başına SQL sayısı basılır.
+ * SQL sayıları uygulamanın "http.server.requests.sql" metriğinden okunur.
+ */
+public class LoadTest {
+
+    static final String PASSWORD = "loadtest-password";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        int engineers = Integer.parseInt(opts.getOrDefault("engineers", "500"));
+        int companies = Integer.parseInt(opts.getOrDefault("companies", "20"));
+        int tasks = Integer.parseInt(opts.getOrDefault("tasks", "2000"));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "32"));
+        Duration duration = Duration.parse("PT" + opts.getOrDefault("duration", "60s").toUpperCase());
+        Map<String, Integer> mix = parseMix(opts.getOrDefault("mix",
+                "register:2,login:8,list:50,claim:20,submit:12,approve:8"));
+
+        EmbeddedPostgres pg = null;
+        String jdbcUrl = opts.get("jdbc-url");
+        if (jdbcUrl == null) {
+            pg = EmbeddedPostgres.builder().start();
+            jdbcUrl = pg.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true";
+        }
+
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + opts.getOrDefault("jdbc-user", "postgres"),
+                "--spring.datasource.password=" + opts.getOrDefault("jdbc-password", "postgres"),
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--app.jpa.query-count-warn-threshold=0",
+                // Tüm yük 127.0.0.1'den geldiği için IP limiti ölçümü bozar
+                "--app.security.auth-rate-limit.per-ip=100000000",
+                "--app.security.auth-rate-limit.per-email=100000000"));
+        if (opts.containsKey("profiles")) {
+            appArgs.add("--spring.profiles.active=" + opts.get("profiles"));
+        }
+        ConfigurableApplicationContext context = SpringApplication.run(ExpApplication.class,
+                appArgs.toArray(String[]::new));
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+
+            long seedStart = System.nanoTime();
+            Workload workload = seed(context, engineers, companies, tasks, port);
+            System.out.printf("Seeded %d engineers, %d companies, %d tasks in %d ms%n",
+                    engineers, companies, tasks, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+            // Isınma: JIT, bağlantı havuzu ve cache'ler
+            run(workload, mix, concurrency, duration.dividedBy(6));
+            workload.resetStats();
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            Map<String, double[]> sqlBefore = sqlTotals(registry);
+            long elapsedNanos = run(workload, mix, concurrency, duration);
+            report(workload, sqlBefore, sqlTotals(registry), elapsedNanos);
+        } finally {
+            context.close();
+            if (pg != null) {
+                pg.close();
+            }
+        }
+    }
+
+    private static Workload seed(ConfigurableApplicationContext context, int engineers, int companies,
+                                 int tasks, int port) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CompanyRepository companyRepository = context.getBean(CompanyRepository.class);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        // Hepsi aynı şifreyi kullandığı için tek hash yeterli
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<User> owners = new ArrayList<>(companies);
+        for (int i = 0; i < companies; i++) {
+            owners.add(User.builder().email("owner" + i + "@load.test").passwordHash(hash)
+                    .role(Role.COMPANY).fullName("Owner " + i).build());
+        }
+        owners = userRepository.saveAll(owners);
+
+        List<User> engineerUsers = new ArrayList<>(engineers);
+        for (int i = 0; i < engineers; i++) {
+            engineerUsers.add(User.builder().email("engineer" + i + "@load.test").passwordHash(hash)
+                    .role(Role.ENGINEER).fullName("Engineer " + i).build());
+        }
+        engineerUsers = userRepository.saveAll(engineerUsers);
+
+        List<Company> companyList = new ArrayList<>(companies);
+        for (User owner : owners) {
+            companyList.add(Company.builder().name(owner.getFullName() + " Co").owner(owner).build());
+        }
+        companyList = companyRepository.saveAll(companyList);
+
+        TaskDifficulty[] difficulties = TaskDifficulty.values();
+        List<Task> taskList = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            taskList.add(Task.builder()
+                    .title("Load task " + i)
+                    .description("Yük testi görevi " + i)
+                    .difficulty(difficulties[i % difficulties.length])
+                    .price(50 + (i % 20) * 25)
+                    .status(TaskStatus.PUBLISHED)
+                    .company(companyList.get(i % companies))
+                    .build());
+        }
+        taskList = taskRepository.saveAll(taskList);
+
+        Workload workload = new Workload(port);
+        for (User u : owners) {
+            workload.addOwner(u.getEmail(), jwtUtil.generateToken(u.getId(), u.getRole(), u.getEmail(), u.getFullName()));
+        }
+        for (User u : engineerUsers) {
+            workload.addEngineer(u.getEmail(), jwtUtil.generateToken(u.getId(), u.getRole(), u.getEmail(), u.getFullName()));
+        }
+        for (int i = 0; i < taskList.size(); i++) {
+            workload.addTask(taskList.get(i).getId(), i % companies);
+        }
+        return workload;
+    }
+
+    private static long run(Workload workload, Map<String, Integer> mix, int concurrency, Duration duration)
+            throws InterruptedException {
+        List<String> ops = new ArrayList<>();
+        mix.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) ops.add(op);
+        });
+
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            pool.submit(() -> {
+                Random random = new Random();
+                while (System.nanoTime() < deadline) {
+                    workload.execute(ops.get(random.nextInt(ops.size())), random);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        return System.nanoTime() - start;
+    }
+
+    /** "METHOD uri" → {istek sayısı, toplam SQL}; ısınmayı ayıklamak için ölçüm öncesi/sonrası alınır. */
+    private static Map<String, double[]> sqlTotals(MeterRegistry registry) {
+        Map<String, double[]> totals = new HashMap<>();
+        for (DistributionSummary s : registry.find("http.server.requests.sql").summaries()) {
+            String key = s.getId().getTag("method") + " " + s.getId().getTag("uri");
+            totals.put(key, new double[]{s.count(), s.totalAmount()});
+        }
+        return totals;
+    }
+
+    private static void report(Workload workload, Map<String, double[]> sqlBefore,
+                               Map<String, double[]> sqlAfter, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long total = 0;
+
+        System.out.printf("%n%-36s %8s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "sql/req");
+        for (EndpointStats s : workload.stats()) {
+            double[] before = sqlBefore.getOrDefault(s.name(), new double[2]);
+            double[] after = sqlAfter.get(s.name());
+            String sqlPerRequest = after != null && after[0] > before[0]
+                    ? String.format("%.2f", (after[1] - before[1]) / (after[0] - before[0]))
+                    : "-";
+            System.out.printf("%-36s %8d %7d %9.1f %9.2f %9.2f %9s%n",
+                    s.name(), s.count(), s.errors(), s.count() / seconds,
+                    s.percentileMillis(0.50), s.percentileMillis(0.99),
+                    sqlPerRequest);
+            total += s.count();
+        }
+        System.out.printf("%nTotal: %d requests in %.1f s (%.1f req/s)%n", total, seconds, total / seconds);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return opts;
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.split(":");
+            if (!Workload.OPERATIONS.contains(kv[0])) {
+                throw new IllegalArgumentException("Unknown operation in mix: " + kv[0]);
+            }
+            mix.put(kv[0], Integer.parseInt(kv[1]));
+        }
+        return mix;
+    }
+}
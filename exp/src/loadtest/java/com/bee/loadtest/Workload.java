@@ -0,0 +1,220 @@
+package com.bee.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Sanal kullanıcıların uyguladığı akış. Her çağrı bir işlem seçer; claim → submit → approve
+ * zinciri kuyruklar üzerinden ilerler, kuyruk boşsa bir önceki adıma düşer.
+ */
+class Workload {
+
+    static final Set<String> OPERATIONS = Set.of(
+            "register", "login", "list", "company", "create", "claim", "submit", "approve");
+
+    private static final String REGISTER = "POST /api/auth/register";
+    private static final String LOGIN = "POST /api/auth/login";
+    private static final String LIST = "GET /api/tasks";
+    private static final String COMPANY = "GET /api/companies/me";
+    private static final String CREATE = "POST /api/tasks";
+    private static final String CLAIM = "POST /api/tasks/{id}/claim";
+    private static final String SUBMIT = "POST /api/tasks/{id}/submit";
+    private static final String APPROVE = "POST /api/tasks/{id}/approve";
+
+    private static final class Account {
+        final String email;
+        volatile String token;   // login ile yenilenir
+
+        Account(String email, String token) {
+            this.email = email;
+            this.token = token;
+        }
+    }
+
+    private record Claim(Account engineer, long taskId) {
+    }
+
+    private final String baseUrl;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper json = new ObjectMapper();
+
+    private final List<Account> engineers = new CopyOnWriteArrayList<>();
+    private final List<Account> owners = new ArrayList<>();
+    private final List<Long> taskIds = new ArrayList<>();
+    private final Map<Long, Integer> taskOwner = new HashMap<>();
+    private final Queue<Claim> claimed = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> submitted = new ConcurrentLinkedQueue<>();
+
+    private volatile Map<String, EndpointStats> stats = newStats();
+
+    Workload(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    void addEngineer(String email, String token) {
+        engineers.add(new Account(email, token));
+    }
+
+    void addOwner(String email, String token) {
+        owners.add(new Account(email, token));
+    }
+
+    void addTask(long taskId, int ownerIndex) {
+        taskIds.add(taskId);
+        taskOwner.put(taskId, ownerIndex);
+    }
+
+    Collection<EndpointStats> stats() {
+        return stats.values();
+    }
+
+    void resetStats() {
+        stats = newStats();
+    }
+
+    void execute(String op, Random random) {
+        try {
+            switch (op) {
+                case "register" -> register();
+                case "login" -> login(random);
+                case "list" -> list(random);
+                case "company" -> company(random);
+                case "create" -> create(random);
+                case "claim" -> claim(random);
+                case "submit" -> submit(random);
+                case "approve" -> approve(random);
+                default -> throw new IllegalArgumentException(op);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Bağlantı hataları vs. ilgili endpoint'in hata sayısına zaten yazıldı
+        }
+    }
+
+    private void register() throws Exception {
+        String email = "new-" + UUID.randomUUID() + "@load.test";
+        Map<String, Object> body = Map.of("email", email, "password", LoadTest.PASSWORD,
+                "fullName", "Registered Engineer", "role", "ENGINEER");
+        JsonNode resp = call(REGISTER, post("/api/auth/register", null, body));
+        if (resp != null) {
+            engineers.add(new Account(email, resp.path("token").asText()));
+        }
+    }
+
+    private void login(Random random) throws Exception {
+        Account account = random.nextInt(5) == 0
+                ? owners.get(random.nextInt(owners.size()))
+                : engineers.get(random.nextInt(engineers.size()));
+        Map<String, Object> body = Map.of("email", account.email, "password", LoadTest.PASSWORD);
+        JsonNode resp = call(LOGIN, post("/api/auth/login", null, body));
+        if (resp != null) {
+            account.token = resp.path("token").asText();
+        }
+    }
+
+    private void list(Random random) throws Exception {
+        Account engineer = engineers.get(random.nextInt(engineers.size()));
+        call(LIST, request("/api/tasks", engineer).GET().build());
+    }
+
+    private void company(Random random) throws Exception {
+        Account owner = owners.get(random.nextInt(owners.size()));
+        call(COMPANY, request("/api/companies/me", owner).GET().build());
+    }
+
+    // Yeni görev yalnızca isteği ölçmek için; claim havuzuna eklenmez
+    private void create(Random random) throws Exception {
+        Account owner = owners.get(random.nextInt(owners.size()));
+        Map<String, Object> body = Map.of("title", "Load created task", "description", "Yük testi sırasında açıldı",
+                "difficulty", "MEDIUM", "price", 100);
+        call(CREATE, post("/api/tasks", owner, body));
+    }
+
+    private void claim(Random random) throws Exception {
+        Account engineer = engineers.get(random.nextInt(engineers.size()));
+        long taskId = taskIds.get(random.nextInt(taskIds.size()));
+        if (call(CLAIM, post("/api/tasks/" + taskId + "/claim", engineer, null)) != null) {
+            claimed.add(new Claim(engineer, taskId));
+        }
+    }
+
+    private void submit(Random random) throws Exception {
+        Claim c = claimed.poll();
+        if (c == null) {
+            claim(random);
+            return;
+        }
+        Map<String, Object> body = Map.of("notes", "Yük testi teslimi", "attachmentUrl", "https://example.com/pr/" + c.taskId());
+        if (call(SUBMIT, post("/api/tasks/" + c.taskId() + "/submit", c.engineer(), body)) != null) {
+            submitted.add(c.taskId());
+        }
+    }
+
+    private void approve(Random random) throws Exception {
+        Long taskId = submitted.poll();
+        if (taskId == null) {
+            submit(random);
+            return;
+        }
+        Account owner = owners.get(taskOwner.get(taskId));
+        call(APPROVE, post("/api/tasks/" + taskId + "/approve", owner, null));
+    }
+
+    private HttpRequest post(String path, Account account, Object body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body));
+        return request(path, account)
+                .header("Content-Type", "application/json")
+                .POST(publisher)
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Account account) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (account != null) {
+            builder.header("Authorization", "Bearer " + account.token);
+        }
+        return builder;
+    }
+
+    /** İsteği ölçer; 2xx değilse hata sayar ve null döner. */
+    private JsonNode call(String endpoint, HttpRequest request) throws Exception {
+        EndpointStats s = stats.get(endpoint);
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (Exception e) {
+            s.error();
+            throw e;
+        }
+        s.record(System.nanoTime() - start);
+
+        if (response.statusCode() / 100 != 2) {
+            s.error();
+            return null;
+        }
+        byte[] body = response.body();
+        return body.length == 0 ? json.nullNode() : json.readTree(body);
+    }
+
+    private static Map<String, EndpointStats> newStats() {
+        Map<String, EndpointStats> map = new LinkedHashMap<>();
+        for (String name : List.of(REGISTER, LOGIN, LIST, COMPANY, CREATE, CLAIM, SUBMIT, APPROVE)) {
+            map.put(name, new EndpointStats(name));
+        }
+        return map;
+    }
+}
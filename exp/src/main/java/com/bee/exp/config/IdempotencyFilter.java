@@ -0,0 +1,229 @@
+package com.bee.exp.config;
+
+import com.bee.exp.domain.IdempotencyRecord;
+import com.bee.exp.repository.IdempotencyRecordRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * /api/tasks ve /api/companies POST'ları için Idempotency-Key desteği.
+ * - İlk istek anahtarı ayırır, cevabı (5xx hariç) saklar.
+ * - Aynı anahtarla gelen tekrar, endpoint'e hiç gitmeden saklanan cevabı alır.
+ * - İlk istek hâlâ sürüyorsa 409. Cevapsız ayırma in-progress-lease'ten eskiyse (instance çöktü vb.)
+ *   sonraki istek onu devralır; eski sahibin geç gelen cevabı / silmesi yeni ayırmayı ezmez.
+ * Anahtar Authorization header'ı ve path ile birlikte hash'lenir; kullanıcılar / endpoint'ler arası çakışmaz.
+ * Gövdenin md5'i de cevapla saklanır: aynı anahtar farklı gövdeyle tekrar gelirse 422 döner, eski cevap
+ * tekrar edilmez. Gövde belleğe alınmaz (toplu import akışla okunur); hash okunurken hesaplanır.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Duration inProgressLease;
+
+    public IdempotencyFilter(IdempotencyRecordRepository repository,
+                             @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                             @Value("${app.idempotency.in-progress-lease:PT1M}") Duration inProgressLease) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.inProgressLease = inProgressLease;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !(uri.startsWith("/api/tasks") || uri.startsWith("/api/companies"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String id = recordId(request);
+        // Sahiplik kontrolü bu değerin eşitliğine dayanır; DB mikrosaniye saklar
+        Instant reservedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        if (repository.reserve(id, reservedAt) == 0
+                && repository.takeOver(id, reservedAt, reservedAt.minus(inProgressLease)) == 0) {
+            Optional<IdempotencyRecord> existing = repository.findById(id);
+            if (existing.isPresent() && existing.get().getResponseStatus() != null) {
+                String storedHash = existing.get().getRequestHash();
+                // Hash'i olmayan eski kayıtlar karşılaştırılmadan tekrar edilir
+                if (storedHash != null && !storedHash.equals(DigestUtils.md5DigestAsHex(request.getInputStream()))) {
+                    response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+                    response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                    response.getWriter().write("Idempotency-Key was already used with a different request body");
+                } else {
+                    replay(existing.get(), response);
+                }
+            } else {
+                // sendError değil: /error dispatch'i security'de authenticated olduğundan 409 yerine 403 dönerdi
+                response.setStatus(HttpServletResponse.SC_CONFLICT);
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.getWriter().write("A request with this Idempotency-Key is in progress");
+            }
+            return;
+        }
+
+        DigestingRequest digesting = new DigestingRequest(request);
+        ContentCachingResponseWrapper wrapped = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(digesting, wrapped);
+            if (!request.isAsyncStarted() && wrapped.getStatus() < 500) {
+                repository.complete(id, reservedAt, digesting.bodyHash(), wrapped.getStatus(),
+                        wrapped.getContentType(), wrapped.getContentAsByteArray());
+                stored = true;
+            }
+        } finally {
+            // Hata / 5xx → ayrımı kaldır ki istemci aynı anahtarla tekrar deneyebilsin
+            if (!stored) {
+                repository.release(id, reservedAt);
+            }
+            wrapped.copyBodyToResponse();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval:PT10M}")
+    public void purgeExpired() {
+        repository.deleteCreatedBefore(Instant.now().minus(ttl));
+    }
+
+    private void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.getResponseStatus());
+        response.setHeader("Idempotent-Replayed", "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (record.getResponseBody() != null) {
+            response.setContentLength(record.getResponseBody().length);
+            response.getOutputStream().write(record.getResponseBody());
+        }
+    }
+
+    /**
+     * Gövdeyi endpoint okurken md5'ini hesaplar. Endpoint gövdenin tamamını okumadıysa
+     * bodyHash() kalanını okuyup hash'e katar.
+     */
+    private static final class DigestingRequest extends HttpServletRequestWrapper {
+
+        private final MessageDigest digest;
+        private ServletInputStream stream;
+
+        DigestingRequest(HttpServletRequest request) {
+            super(request);
+            try {
+                this.digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new DigestingInputStream(super.getInputStream(), digest);
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1));
+        }
+
+        String bodyHash() throws IOException {
+            getInputStream().transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    private static final class DigestingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final MessageDigest digest;
+
+        DigestingInputStream(ServletInputStream delegate, MessageDigest digest) {
+            this.delegate = delegate;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = delegate.read(b, off, len);
+            if (n > 0) {
+                digest.update(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+
+    private static String recordId(HttpServletRequest request) {
+        String raw = String.valueOf(request.getHeader(HttpHeaders.AUTHORIZATION))
+                + "|" + request.getMethod() + " " + request.getRequestURI()
+                + "|" + request.getHeader(HEADER);
+        return DigestUtils.md5DigestAsHex(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,18 @@
+package com.bee.exp.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    // Request başına SQL sayısını tutan (ve örneklem loglayan) inspector'ı Hibernate'e bağla
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(
+            @Value("${app.jpa.sql-log-sample-rate:0}") double sqlLogSampleRate) {
+        return props -> props.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter(sqlLogSampleRate));
+    }
+}
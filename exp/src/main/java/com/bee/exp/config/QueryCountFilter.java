@@ -0,0 +1,66 @@
+package com.bee.exp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Her request'in attığı SQL sayısını ölçer, eşiği aşanları WARN olarak loglar.
+ * Eşik 0 ise sadece sayar, loglamaz.
+ * Sayılar ayrıca route bazında "http.server.requests.sql" metriğine yazılır.
+ * Not: async endpoint'lerde (auth) executor thread'inde atılan sorgular sayılmaz.
+ */
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final int warnThreshold;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(@Value("${app.jpa.query-count-warn-threshold:20}") int warnThreshold,
+                            MeterRegistry meterRegistry) {
+        this.warnThreshold = warnThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long count = SqlStatementCounter.get();
+            if (warnThreshold > 0 && count > warnThreshold) {
+                log.warn("{} {} executed {} SQL statements", request.getMethod(), request.getRequestURI(), count);
+            }
+            record(request, count);
+            SqlStatementCounter.clear();
+        }
+    }
+
+    private void record(HttpServletRequest request, long count) {
+        // Route şablonu (/api/tasks/{id}/claim); eşleşmeyen istekler tek etikette toplanır
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.sql")
+                .description("SQL statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(count);
+    }
+}
@@ -0,0 +1,96 @@
+package com.bee.exp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * app.datasource.read.url verilince devreye girer: okuma havuzu + ReadWriteRoutingDataSource.
+ * Verilmezse Boot'un tek DataSource'u aynen kullanılır.
+ *
+ * Primary havuzu spring.datasource.* / spring.datasource.hikari.*, okuma havuzu
+ * app.datasource.read.* / app.datasource.read.hikari.* ile ayarlanır.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read", name = "url")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read.hikari")
+    public HikariDataSource readDataSource(
+            @Value("${app.datasource.read.url}") String url,
+            @Value("${app.datasource.read.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.read.password:${spring.datasource.password:}}") String password
+    ) {
+        HikariDataSource ds = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        ds.setPoolName("read");
+        return ds;
+    }
+
+    /**
+     * Uygulamanın (JPA, sql init, JdbcTemplate) gördüğü DataSource.
+     * Lazy proxy, fiziksel bağlantıyı ilk SQL'e kadar ertelediği için yönlendirme kararı
+     * transaction'ın readOnly bilgisi kaydedildikten sonra verilir.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("readDataSource") DataSource read,
+            @Value("${app.datasource.read.sticky-window:PT5S}") Duration stickyWindow,
+            MeterRegistry meterRegistry
+    ) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, read, stickyWindow, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Boot'un adapter'ı ile aynı, tek fark prepareConnection = false:
+     * aksi halde Hibernate bağlantıyı transaction başında alıp OSIV boyunca (istek sonuna kadar) tutar
+     * ve istekteki ilk transaction'ın hedefi sonrakiler için de kullanılır. Böylece bağlantı
+     * transaction başına alınır / bırakılır, her transaction kendi hedefine gider.
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties properties) {
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter();
+        adapter.setShowSql(properties.isShowSql());
+        if (properties.getDatabase() != null) {
+            adapter.setDatabase(properties.getDatabase());
+        }
+        if (properties.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(properties.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        adapter.setPrepareConnection(false);
+        return adapter;
+    }
+}
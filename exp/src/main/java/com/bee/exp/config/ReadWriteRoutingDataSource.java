@@ -0,0 +1,87 @@
+package com.bee.exp.config;
+
+import com.bee.exp.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bağlantıyı transaction'a göre primary ya da okuma havuzuna yönlendirir.
+ * - @Transactional(readOnly = true) → okuma havuzu
+ * - yazan transaction'lar ve transaction dışı erişim (OSIV lazy load, DDL, sql init) → primary
+ * - Read-your-writes: kimliği belli kullanıcı bir yazan transaction açtığında, sticky-window boyunca
+ *   o kullanıcının okumaları da primary'ye gider (replikasyon gecikmesi kendi değişikliğini gizlemesin).
+ *   Kayıt instance başınadır; pencere en kötü replikasyon gecikmesinden uzun tutulmalı.
+ * - Principal olmadan yapılan yazmalar (register, Idempotency-Key kaydı) kimseyi sticky yapmaz; bunları hemen
+ *   geri okuyan sorgular repository'de yazan transaction ile primary'ye sabitlenir
+ *   (UserRepository.findByEmail, IdempotencyRecordRepository.findById, AuthUserCache.get).
+ * Karar bağlantı gerçekten alınırken verilir; bu yüzden LazyConnectionDataSourceProxy arkasında kullanılır.
+ * Yönlendirme sayıları "datasource.routing{target}" metriğinde.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String READ = "read";
+
+    private final Cache<Long, Boolean> recentWriters;
+    private final Counter primaryCounter;
+    private final Counter readCounter;
+    private final Counter stickyCounter;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource read,
+                                      Duration stickyWindow, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(PRIMARY, primary, READ, read));
+        setDefaultTargetDataSource(primary);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .build();
+        this.primaryCounter = targetCounter(meterRegistry, "primary");
+        this.readCounter = targetCounter(meterRegistry, "read");
+        this.stickyCounter = targetCounter(meterRegistry, "primary-sticky");
+    }
+
+    private static Counter targetCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            stickyCounter.increment();
+            return PRIMARY;
+        }
+        readCounter.increment();
+        return READ;
+    }
+
+    // JwtAuthFilter principal'ı User olarak koyar; arka plan thread'lerinde kullanıcı yok
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.bee.exp.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+/**
+ * Repository metodlarının süresini Spring Boot zaten ölçüyor (spring.data.repository.invocations).
+ * Burada her çağrının döndürdüğü / etkilediği satır sayısını "spring.data.repository.rows"
+ * metriğine yazıyoruz; büyüyen listeleri ve beklenmedik geniş update'leri görmek için.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryRowCountPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // Repository proxy'si afterPropertiesSet'te kurulduğu için "before" aşamasında eklenmeli
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, info) -> proxyFactory.addAdvice(
+                                    new RowCountInterceptor(info.getRepositoryInterface().getSimpleName(), meterRegistry))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class RowCountInterceptor implements MethodInterceptor {
+
+        private final String repository;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        RowCountInterceptor(String repository, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.repository = repository;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+
+            long rows = rows(invocation, result);
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (rows >= 0 && registry != null) {
+                DistributionSummary.builder("spring.data.repository.rows")
+                        .description("Rows returned or affected per repository call")
+                        .tag("repository", repository)
+                        .tag("method", invocation.getMethod().getName())
+                        .register(registry)
+                        .record(rows);
+            }
+            return result;
+        }
+
+        // -1 → satır sayısı anlamlı değil (count/exists sonuçları, stream'ler)
+        private static long rows(MethodInvocation invocation, Object result) {
+            if (result == null) return 0;
+            if (result instanceof Collection<?> c) return c.size();
+            if (result instanceof Optional<?> o) return o.isPresent() ? 1 : 0;
+            if (result instanceof Slice<?> s) return s.getNumberOfElements();
+            if (result instanceof Number n) {
+                return invocation.getMethod().isAnnotationPresent(Modifying.class) ? n.longValue() : -1;
+            }
+            if (result instanceof Boolean || result instanceof Iterable<?> || result instanceof BaseStream<?, ?>) {
+                return -1;
+            }
+            return 1;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bee.exp.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -18,7 +19,7 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/", "/index.html", "/static/**", "/css/**", "/js/**", "/images/**", "/api/auth/**","/api/tasks/**")
+                        .requestMatchers("/", "/index.html", "/static/**", "/css/**", "/js/**", "/images/**", "/api/auth/**","/api/tasks/**", "/api/leaderboard/**", "/api/stats/**", "/actuator/health", "/actuator/prometheus")
                         .permitAll()
                         .anyRequest()
                         .authenticated()
@@ -28,8 +29,9 @@ public class SecurityConfig {
     }
 
     // 🔐 Burayı eklemezsen UserService PasswordEncoder bulamaz
+    // Cost değişirse eski hash'ler login sırasında otomatik yenilenir (AuthController)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
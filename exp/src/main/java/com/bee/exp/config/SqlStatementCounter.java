@@ -0,0 +1,58 @@
+package com.bee.exp.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hibernate'in çalıştırdığı her SQL'i thread bazında sayar.
+ * Request başına sorgu sayısını görmek (N+1 tespiti) ve testlerde
+ * "bu endpoint en fazla X sorgu atar" kontrolü yapmak için:
+ *
+ * <pre>
+ *   SqlStatementCounter.reset();
+ *   ... endpoint / servis çağrısı ...
+ *   assertThat(SqlStatementCounter.get()).isLessThanOrEqualTo(3);
+ * </pre>
+ *
+ * show-sql yerine SQL'lerin sadece bir örneklemini "com.bee.exp.sql" logger'ına yazar;
+ * sampleRate 0 ise hiç loglamaz, 1 ise hepsini.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final Logger SQL_LOG = LoggerFactory.getLogger("com.bee.exp.sql");
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final double sampleRate;
+
+    public SqlStatementCounter() {
+        this(0);
+    }
+
+    public SqlStatementCounter(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long n = ++COUNT.get()[0];
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && SQL_LOG.isInfoEnabled()) {
+            SQL_LOG.info("sql #{} in request: {}", n, sql);
+        }
+        return sql;
+    }
+
+    public static long get() {
+        return COUNT.get()[0];
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static void clear() {
+        COUNT.remove();
+    }
+}
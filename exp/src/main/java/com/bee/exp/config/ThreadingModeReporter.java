@@ -0,0 +1,33 @@
+package com.bee.exp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Açılışta hangi thread modunda çalıştığımızı loglar.
+ * spring.threads.virtual.enabled=true olduğu halde JVM 21'den eskiyse Spring sessizce
+ * platform thread'lere döner; bunu gözden kaçırmamak için uyarı basar.
+ */
+@Slf4j
+@Component
+public class ThreadingModeReporter {
+
+    private final boolean virtualRequested;
+
+    public ThreadingModeReporter(@Value("${spring.threads.virtual.enabled:false}") boolean virtualRequested) {
+        this.virtualRequested = virtualRequested;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualRequested && javaVersion < 21) {
+            log.warn("spring.threads.virtual.enabled=true but running on Java {}; falling back to platform threads", javaVersion);
+        } else {
+            log.info("Request threading mode: {} (Java {})", virtualRequested ? "virtual" : "platform", javaVersion);
+        }
+    }
+}
@@ -2,16 +2,23 @@ package com.bee.exp.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 
+// prod profilinde 2. seviye cache'te (id ile); findByOwner sonucu ayrıca query cache'te
 @Entity
 @Table(name = "companies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "companies")
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class Company {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "companies_seq")
+    @SequenceGenerator(name = "companies_seq", sequenceName = "companies_seq", allocationSize = 50)
     private Long id;
 
     private String name;
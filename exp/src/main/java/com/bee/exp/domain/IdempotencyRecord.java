@@ -0,0 +1,38 @@
+package com.bee.exp.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Idempotency-Key ile gelen POST'un kaydı.
+ * responseStatus null → istek hâlâ işleniyor; dolu → aynı anahtarla gelen tekrarlar bu cevabı alır.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class IdempotencyRecord {
+
+    // hash(Authorization + method + path + Idempotency-Key)
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    // İlk isteğin gövdesinin md5'i; aynı anahtar farklı gövdeyle gelirse cevap tekrar edilmez (422)
+    @Column(length = 32)
+    private String requestHash;
+
+    private Integer responseStatus;
+
+    private String contentType;
+
+    private byte[] responseBody;
+
+    // Ayırma zamanı; takılı kalan ayırma devralınınca yenilenir ve sahiplik bununla kontrol edilir
+    @Column(nullable = false)
+    private Instant createdAt;
+}
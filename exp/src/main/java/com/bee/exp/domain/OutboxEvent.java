@@ -0,0 +1,59 @@
+package com.bee.exp.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Transactional outbox satırı. Durum değişikliğiyle aynı transaction'da yazılır,
+ * commit sonrası OutboxDispatcher tarafından işlenir.
+ * processedAt dolu → işlendi; failedAt dolu → deneme hakkı bitti (dead letter), elle incelenmeli.
+ * Aynı aggregate'in olayları id sırasıyla, biri bitmeden diğeri başlamadan işlenir.
+ * Bekleyenler için kısmi index'ler: db/outbox.sql
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_processed_at", columnList = "processedAt")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    // Örn. "submission"
+    @Column(nullable = false, updatable = false, length = 32)
+    private String aggregateType;
+
+    @Column(nullable = false, updatable = false)
+    private Long aggregateId;
+
+    // Örn. "SUBMISSION_APPROVED"; hangi OutboxHandler'a gideceğini belirler
+    @Column(nullable = false, updatable = false, length = 64)
+    private String eventType;
+
+    // JSON
+    @Column(nullable = false, updatable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Bir sonraki deneme bu andan önce yapılmaz (retry backoff)
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    private Instant processedAt;
+
+    private Instant failedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
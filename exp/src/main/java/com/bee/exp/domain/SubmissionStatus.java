@@ -0,0 +1,8 @@
+package com.bee.exp.domain;
+
+public enum SubmissionStatus {
+    CLAIMED,
+    SUBMITTED,
+    APPROVED,
+    REJECTED
+}
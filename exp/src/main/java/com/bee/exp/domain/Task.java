@@ -6,12 +6,22 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Marketplace keyset sayfalama: status (+ difficulty / company) filtresi, id DESC sıralama
+        @Index(name = "idx_tasks_status_id", columnList = "status, id"),
+        @Index(name = "idx_tasks_status_difficulty_id", columnList = "status, difficulty, id"),
+        @Index(name = "idx_tasks_company_status_id", columnList = "company_id, status, id"),
+        // Listeleme ETag'i: status bazında max(updatedAt)
+        @Index(name = "idx_tasks_status_updated_at", columnList = "status, updatedAt")
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class Task {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence + pooled optimizer: id'ler bellekten verilir, insert'ler JDBC batch'lenebilir
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -27,17 +37,20 @@ public class Task {
     @Enumerated(EnumType.STRING)
     private TaskStatus status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id")
     private Company company;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to_id")
     private User assignedTo;
 
     private Instant createdAt;
     private Instant updatedAt;
 
+    @Version
+    private Long version;
+
     @PrePersist
     public void prePersist() {
         createdAt = Instant.now();
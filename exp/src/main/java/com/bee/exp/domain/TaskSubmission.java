@@ -6,19 +6,27 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "task_submissions")
+@Table(name = "task_submissions", uniqueConstraints = {
+        // Bir engineer bir görevi sadece bir kez claim edebilir
+        @UniqueConstraint(name = "uk_task_submissions_task_engineer", columnNames = {"task_id", "engineer_id"})
+}, indexes = {
+        // Engineer'ın submission'ları: listeleme bayrakları, "görevlerim", ETag
+        @Index(name = "idx_task_submissions_engineer_id", columnList = "engineer_id")
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class TaskSubmission {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_submissions_seq")
+    @SequenceGenerator(name = "task_submissions_seq", sequenceName = "task_submissions_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id")
     private Task task;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "engineer_id")
     private User engineer;
 
@@ -27,10 +35,30 @@ public class TaskSubmission {
 
     private String attachmentUrl;
 
+    // NOT NULL, db/submission-status-backfill.sql ile (eski satırlar doldurulduktan sonra) verilir;
+    // burada nullable = false olsaydı ddl-auto update dolu tabloya NOT NULL kolon eklemeye çalışıp düşerdi
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private SubmissionStatus status = SubmissionStatus.CLAIMED;
+
     private Instant submittedAt;
 
+    // Firma onayladığında / reddettiğinde
+    private Instant reviewedAt;
+
+    private Instant updatedAt;
+
+    @Version
+    private Long version;
+
     @PrePersist
     public void prePersist() {
         submittedAt = Instant.now();
+        updatedAt = submittedAt;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = Instant.now();
     }
 }
@@ -0,0 +1,56 @@
+package com.bee.exp.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Append-only XP hareketi. users.xp bu tablonun toplamının denormalize halidir;
+ * kayıtlar hiç güncellenmez / silinmez.
+ */
+@Entity
+@Table(name = "xp_ledger", indexes = {
+        @Index(name = "idx_xp_ledger_user_id", columnList = "user_id"),
+        @Index(name = "idx_xp_ledger_created_at", columnList = "createdAt")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class XpLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "xp_ledger_seq")
+    @SequenceGenerator(name = "xp_ledger_seq", sequenceName = "xp_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private User user;
+
+    @Column(nullable = false, updatable = false)
+    private Integer amount;
+
+    // Örn. "TASK_APPROVED"
+    @Column(updatable = false)
+    private String reason;
+
+    // XP'yi doğuran submission (varsa)
+    @Column(updatable = false)
+    private Long submissionId;
+
+    // Leaderboard kırılımları için görevin şirketi / zorluğu (varsa)
+    @Column(updatable = false)
+    private Long companyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private TaskDifficulty difficulty;
+
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        createdAt = Instant.now();
+    }
+}
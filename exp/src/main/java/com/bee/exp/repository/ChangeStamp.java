@@ -0,0 +1,13 @@
+package com.bee.exp.repository;
+
+import java.time.Instant;
+
+/**
+ * Bir listenin "değişti mi" özeti: satır sayısı + son güncelleme zamanları.
+ * ETag (listelerde) / Last-Modified (tek kaynakta) hesaplamak için, entity'leri yüklemeden tek aggregate sorgu ile okunur.
+ */
+public interface ChangeStamp {
+    Long getCount();
+    Instant getLastModified();
+    Instant getRelatedLastModified();
+}
@@ -2,12 +2,32 @@ package com.bee.exp.repository;
 
 import com.bee.exp.domain.Company;
 import com.bee.exp.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface CompanyRepository extends JpaRepository<Company, Long> {
 
     // Company.owner alanına göre (CompanyController'da builder().owner(...) kullanıyorsun)
+    // Query cache'te (prod profili): sonuç id'si companies tablosu değişene kadar tutulur, entity 2. seviye cache'ten gelir
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Company> findByOwner(User owner);
+
+    // Sadece id (SSE aboneliği); entity / cache yüklenmez
+    @Transactional(readOnly = true)
+    @Query("select c.id from Company c where c.owner.id = :ownerId")
+    Optional<Long> findIdByOwnerId(@Param("ownerId") Long ownerId);
+
+    // ETag: şirket ve (JSON'da yer alan) owner'ın son güncellenmesi
+    @Transactional(readOnly = true)
+    @Query("select count(c) as count, max(c.updatedAt) as lastModified, max(o.updatedAt) as relatedLastModified " +
+            "from Company c join c.owner o where o.id = :ownerId")
+    ChangeStamp findStampByOwnerId(@Param("ownerId") Long ownerId);
 }
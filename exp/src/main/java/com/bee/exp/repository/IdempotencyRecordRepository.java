@@ -0,0 +1,61 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.IdempotencyRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // reserve / takeOver primary'de çalışır; saklanan cevap da oradan okunmalı (readOnly değil),
+    // yoksa replikasyon gecikmesinde tamamlanmış istek "in progress" (409) görünür
+    @Override
+    @Transactional
+    Optional<IdempotencyRecord> findById(String id);
+
+    // Anahtarı "işleniyor" olarak ayırır; zaten varsa 0 döner.
+    // Native sorgunun dokunduğu tablo bildirilir ki Hibernate 2. seviye cache'in tamamını temizlemesin
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "insert into idempotency_keys (id, created_at) values (:id, :now) " +
+            "on conflict (id) do nothing", nativeQuery = true)
+    int reserve(@Param("id") String id, @Param("now") Instant now);
+
+    // Cevapsız ve staleBefore'dan eski ayırmayı yeni sahibine geçirir; aynı anda tek istek başarır (1 döner).
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.createdAt = :now " +
+            "where r.id = :id and r.responseStatus is null and r.createdAt < :staleBefore")
+    int takeOver(@Param("id") String id, @Param("now") Instant now, @Param("staleBefore") Instant staleBefore);
+
+    // Yalnızca ayırma hâlâ bu isteğe aitse (devralınmadıysa) yazar
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.requestHash = :requestHash, r.responseStatus = :status, " +
+            "r.contentType = :contentType, r.responseBody = :body where r.id = :id and r.createdAt = :reservedAt")
+    int complete(@Param("id") String id,
+                 @Param("reservedAt") Instant reservedAt,
+                 @Param("requestHash") String requestHash,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("body") byte[] body);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.createdAt = :reservedAt")
+    int release(@Param("id") String id, @Param("reservedAt") Instant reservedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+}
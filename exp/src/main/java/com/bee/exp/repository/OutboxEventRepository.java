@@ -0,0 +1,51 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Sıradaki işlenebilir olaylar, satırlar kilitlenerek (çağıran transaction içinde olmalı).
+     * Her aggregate'in sadece en eski bekleyen olayı gelir: o bitmeden (ya da backoff'tayken)
+     * sonrakiler alınmaz. SKIP LOCKED sayesinde birden fazla instance aynı olayı almaz; başka
+     * instance'ın kilitlediği baş olay da hâlâ bekleyen sayıldığı için sıra bozulmaz.
+     */
+    @Query(value = "select * from outbox_events o " +
+            "where o.processed_at is null and o.failed_at is null and o.next_attempt_at <= :now " +
+            "and not exists (select 1 from outbox_events p " +
+            "  where p.aggregate_type = o.aggregate_type and p.aggregate_id = o.aggregate_id " +
+            "  and p.processed_at is null and p.failed_at is null and p.id < o.id) " +
+            "order by o.id limit :limit " +
+            "for update skip locked", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    // Tek olayı tekrar dener; başka instance almışsa ya da işlenmişse boş döner
+    @Query(value = "select * from outbox_events " +
+            "where id = :id and processed_at is null and failed_at is null " +
+            "for update skip locked", nativeQuery = true)
+    Optional<OutboxEvent> lockPending(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lastError = :error, e.failedAt = :failedAt where e.id = :id")
+    int recordFailure(@Param("id") Long id,
+                      @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") Instant nextAttemptAt,
+                      @Param("error") String error,
+                      @Param("failedAt") Instant failedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") Instant before);
+}
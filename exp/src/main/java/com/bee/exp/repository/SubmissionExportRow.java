@@ -0,0 +1,21 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.SubmissionStatus;
+
+import java.time.Instant;
+
+/**
+ * Export için submission satırı (engineer bilgisiyle). TaskExportRow gibi managed değildir.
+ */
+public interface SubmissionExportRow {
+    Long getId();
+    Long getTaskId();
+    Long getEngineerId();
+    String getEngineerName();
+    String getEngineerEmail();
+    SubmissionStatus getStatus();
+    String getNotes();
+    String getAttachmentUrl();
+    Instant getSubmittedAt();
+    Instant getReviewedAt();
+}
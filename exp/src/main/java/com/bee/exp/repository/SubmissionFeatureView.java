@@ -0,0 +1,12 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.TaskDifficulty;
+
+/**
+ * Öneri profili (TaskFeedService): engineer'ın üzerinde çalıştığı görevin zorluğu ve şirketi.
+ */
+public interface SubmissionFeatureView {
+    Long getTaskId();
+    TaskDifficulty getDifficulty();
+    Long getCompanyId();
+}
@@ -0,0 +1,14 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.SubmissionStatus;
+
+/**
+ * İstatistik mutabakatı: submission sayıları durum kırılımında.
+ * Görev bazlı sorguda id = taskId (companyId dolu), engineer bazlı sorguda id = engineerId (companyId null).
+ */
+public interface SubmissionStatusCountView {
+    Long getId();
+    Long getCompanyId();
+    SubmissionStatus getStatus();
+    long getTotal();
+}
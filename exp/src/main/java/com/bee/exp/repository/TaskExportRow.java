@@ -0,0 +1,23 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+
+import java.time.Instant;
+
+/**
+ * Export için görev satırı. Entity değil projection olduğu için persistence context'te
+ * birikmez; stream edilirken heap sabit kalır.
+ */
+public interface TaskExportRow {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    TaskDifficulty getDifficulty();
+    Integer getPrice();
+    TaskStatus getStatus();
+    Long getAssignedEngineerId();
+    String getAssignedEngineerName();
+    Instant getCreatedAt();
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,13 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.TaskDifficulty;
+
+/**
+ * Öneri index'i (TaskFeedService): görev başına sadece skorlamada kullanılan alanlar.
+ */
+public interface TaskFeatureView {
+    Long getId();
+    TaskDifficulty getDifficulty();
+    Integer getPrice();
+    Long getCompanyId();
+}
@@ -2,15 +2,106 @@ package com.bee.exp.repository;
 
 import com.bee.exp.domain.Company;
 import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
 import com.bee.exp.domain.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
 
+    // Claim / approve cevabı companyName ve assignedTo'yu okur; OSIV kapalı olduğu için birlikte yüklenir
+    @Override
+    @EntityGraph(attributePaths = {"company", "assignedTo"})
+    Optional<Task> findById(Long id);
+
+    // Listeleme: company (+ owner) ve assignedTo tek SQL'de join'lenir, görev başına ek select yok
+    @EntityGraph(attributePaths = {"company", "company.owner", "assignedTo"})
     List<Task> findByStatus(TaskStatus status);
 
+    @EntityGraph(attributePaths = {"company", "company.owner", "assignedTo"})
+    List<Task> findByStatusAndDifficulty(TaskStatus status, TaskDifficulty difficulty);
+
     // Firma görevleri
+    @EntityGraph(attributePaths = {"company", "company.owner", "assignedTo"})
     List<Task> findByCompany(Company company);
+
+    // ETag: bu status'teki görevler ve şirketlerinde değişiklik var mı
+    @Query("select count(t) as count, max(t.updatedAt) as lastModified, max(c.updatedAt) as relatedLastModified " +
+            "from Task t left join t.company c where t.status = :status")
+    ChangeStamp findStampByStatus(@Param("status") TaskStatus status);
+
+    /**
+     * Marketplace için keyset (cursor) sayfalama: id DESC sırasında afterId'den sonraki en fazla limit kayıt.
+     * Null gelen filtreler sorguya hiç girmez (TaskSpecifications). company (+ owner) ve assignedTo
+     * fetch graph ile aynı SQL'de yüklenir; count sorgusu atılmaz.
+     */
+    default List<Task> findPage(TaskStatus status,
+                                TaskDifficulty difficulty,
+                                Integer minPrice,
+                                Integer maxPrice,
+                                Long companyId,
+                                Long afterId,
+                                int limit) {
+        return findBy(TaskSpecifications.marketplace(status, difficulty, minPrice, maxPrice, companyId, afterId),
+                q -> q.project("company", "company.owner", "assignedTo")
+                        .sortBy(Sort.by(Sort.Direction.DESC, "id"))
+                        .limit(limit)
+                        .all());
+    }
+
+    /**
+     * Tam metin arama: başlık (A) ve açıklama (B) ağırlıklı tsvector üzerinde, ts_rank sırasıyla.
+     * tsvector ifadesi db/task-search.sql'deki GIN index (idx_tasks_fts) ile birebir aynı olmalı,
+     * aksi halde index kullanılmaz. Sadece id döner; entity'ler findByIdIn ile tek sorguda yüklenir.
+     */
+    @Query(value = "select t.id from tasks t " +
+            "where t.status = :status " +
+            "and (setweight(to_tsvector('simple', coalesce(t.title, '')), 'A') || " +
+            "     setweight(to_tsvector('simple', coalesce(t.description, '')), 'B')) @@ to_tsquery('simple', :query) " +
+            "order by ts_rank(setweight(to_tsvector('simple', coalesce(t.title, '')), 'A') || " +
+            "                 setweight(to_tsvector('simple', coalesce(t.description, '')), 'B'), " +
+            "                 to_tsquery('simple', :query)) desc, t.id desc " +
+            "limit :limit offset :offset",
+            nativeQuery = true)
+    List<Long> searchIds(@Param("status") String status,
+                         @Param("query") String query,
+                         @Param("limit") int limit,
+                         @Param("offset") int offset);
+
+    @EntityGraph(attributePaths = {"company", "company.owner", "assignedTo"})
+    List<Task> findByIdIn(Collection<Long> ids);
+
+    // İstatistik mutabakatı (StatsService)
+    @Query("select t.company.id as companyId, t.status as status, count(t) as total " +
+            "from Task t group by t.company.id, t.status")
+    List<TaskStatusCountView> countByCompanyAndStatus();
+
+    /**
+     * Şirket export'u: satırlar fetch size kadar parça parça okunur.
+     * Sadece açık bir transaction içinde tüketilmeli (Postgres sürücüsü aksi halde hepsini çeker)
+     * ve Stream kapatılmalı.
+     */
+    @Query("select t.id as id, t.title as title, t.description as description, t.difficulty as difficulty, " +
+            "t.price as price, t.status as status, a.id as assignedEngineerId, a.fullName as assignedEngineerName, " +
+            "t.createdAt as createdAt, t.updatedAt as updatedAt " +
+            "from Task t left join t.assignedTo a where t.company.id = :companyId order by t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<TaskExportRow> streamExportByCompanyId(@Param("companyId") Long companyId);
+
+    // Öneri index'ini kurmak için: entity yüklemeden skor alanları
+    @Query("select t.id as id, t.difficulty as difficulty, t.price as price, t.company.id as companyId " +
+            "from Task t where t.status = :status")
+    List<TaskFeatureView> findFeaturesByStatus(@Param("status") TaskStatus status);
 }
@@ -0,0 +1,46 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Marketplace filtreleri için Criteria parçaları.
+ * Sadece verilen filtreler SQL'e girer: "(:x is null or ...)" kalıbı generic plan'da
+ * index'leri devre dışı bırakıyordu, her filtre kombinasyonu kendi sorgusunu üretir.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> marketplace(TaskStatus status,
+                                                  TaskDifficulty difficulty,
+                                                  Integer minPrice,
+                                                  Integer maxPrice,
+                                                  Long companyId,
+                                                  Long afterId) {
+        Specification<Task> spec = hasStatus(status);
+        if (difficulty != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("difficulty"), difficulty));
+        }
+        if (minPrice != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice));
+        }
+        if (maxPrice != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+        }
+        if (companyId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("company").get("id"), companyId));
+        }
+        if (afterId != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("id"), afterId));
+        }
+        return spec;
+    }
+
+    private static Specification<Task> hasStatus(TaskStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+}
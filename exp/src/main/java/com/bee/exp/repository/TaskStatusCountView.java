@@ -0,0 +1,12 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.TaskStatus;
+
+/**
+ * İstatistik mutabakatı: şirket + durum kırılımında görev sayısı.
+ */
+public interface TaskStatusCountView {
+    Long getCompanyId();
+    TaskStatus getStatus();
+    long getTotal();
+}
@@ -1,18 +1,124 @@
 package com.bee.exp.repository;
 
+import com.bee.exp.domain.SubmissionStatus;
 import com.bee.exp.domain.Task;
 import com.bee.exp.domain.TaskSubmission;
 import com.bee.exp.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskSubmissionRepository extends JpaRepository<TaskSubmission, Long> {
 
     Optional<TaskSubmission> findByTaskAndEngineer(Task task, User engineer);
 
+    // Engineer'ın görev listesi: task ve task'ın company / assignedTo'su birlikte gelir
+    @EntityGraph(attributePaths = {"task", "task.company", "task.company.owner", "task.assignedTo"})
     List<TaskSubmission> findByEngineer(User engineer);
 
+    // Bir görevin submission'ları: engineer bilgisiyle birlikte
+    @EntityGraph(attributePaths = {"engineer"})
     List<TaskSubmission> findByTask(Task task);
+
+    // Onay ekranı: submission'lar görev, şirket ve engineer ile birlikte tek sorguda
+    @EntityGraph(attributePaths = {"task", "task.company", "task.company.owner", "engineer"})
+    List<TaskSubmission> findByIdIn(Collection<Long> ids);
+
+    @Query("select s.id from TaskSubmission s where s.task = :task and s.status = :status")
+    List<Long> findIdsByTaskAndStatus(@Param("task") Task task, @Param("status") SubmissionStatus status);
+
+    /**
+     * Toplu durum geçişi: tek UPDATE. Sadece hâlâ "from" durumundaki satırlar güncellenir,
+     * dönen sayı ile eşzamanlı değişiklik tespit edilebilir.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TaskSubmission s set s.status = :to, s.reviewedAt = :now, s.updatedAt = :now, " +
+            "s.version = s.version + 1 " +
+            "where s.id in :ids and s.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("from") SubmissionStatus from,
+                     @Param("to") SubmissionStatus to,
+                     @Param("now") Instant now);
+
+    /**
+     * Claim: (task, engineer) için satır yoksa ekler, varsa hiçbir şey yapmaz (unique index + ON CONFLICT).
+     * Çift tıklama / retry'da ikinci satır oluşmaz, lock beklenmez. Eklenen satır sayısını (0/1) döner.
+     * Native sorgunun dokunduğu tablo bildirilir ki Hibernate 2. seviye cache'in tamamını temizlemesin.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_submissions"))
+    @Query(value = "insert into task_submissions " +
+            "(id, task_id, engineer_id, status, submitted_at, updated_at, version) " +
+            "values (nextval('task_submissions_seq'), :taskId, :engineerId, 'CLAIMED', :now, :now, 0) " +
+            "on conflict (task_id, engineer_id) do nothing", nativeQuery = true)
+    int insertClaimIfAbsent(@Param("taskId") Long taskId,
+                            @Param("engineerId") Long engineerId,
+                            @Param("now") Instant now);
+
+    @Query("select s.status from TaskSubmission s where s.task.id = :taskId and s.engineer.id = :engineerId")
+    Optional<SubmissionStatus> findStatus(@Param("taskId") Long taskId, @Param("engineerId") Long engineerId);
+
+    /**
+     * Submit: claim satırını tek UPDATE ile günceller (aynı içerikle tekrar gönderim zararsız).
+     * Onaylanmış submission değiştirilemez; 0 dönerse satır yok ya da onaylanmış.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TaskSubmission s set s.notes = :notes, s.attachmentUrl = :attachmentUrl, " +
+            "s.status = com.bee.exp.domain.SubmissionStatus.SUBMITTED, s.updatedAt = :now, s.version = s.version + 1 " +
+            "where s.task.id = :taskId and s.engineer.id = :engineerId " +
+            "and s.status <> com.bee.exp.domain.SubmissionStatus.APPROVED")
+    int updateSubmission(@Param("taskId") Long taskId,
+                         @Param("engineerId") Long engineerId,
+                         @Param("notes") String notes,
+                         @Param("attachmentUrl") String attachmentUrl,
+                         @Param("now") Instant now);
+
+    // ETag: engineer'ın submission'larında değişiklik var mı
+    @Query("select count(s) as count, max(s.updatedAt) as lastModified, max(s.reviewedAt) as relatedLastModified " +
+            "from TaskSubmission s where s.engineer.id = :engineerId")
+    ChangeStamp findStampByEngineerId(@Param("engineerId") Long engineerId);
+
+    /**
+     * Listeleme için: engineer'ın tüm submission durumları, tek sorguda; listeyle eşleştirme bellekte.
+     * Görev id'leri IN listesine konmaz (sayfasız listede bind parametre sınırını aşardı);
+     * engineer'ın submission sayısı listedeki görev sayısından küçüktür.
+     */
+    @Query("select s.task.id as taskId, s.status as status " +
+            "from TaskSubmission s where s.engineer.id = :engineerId")
+    List<TaskSubmissionState> findStatesByEngineerId(@Param("engineerId") Long engineerId);
+
+    // İstatistik mutabakatı (StatsService): görev bazında
+    @Query("select t.id as id, t.company.id as companyId, s.status as status, count(s) as total " +
+            "from TaskSubmission s join s.task t group by t.id, t.company.id, s.status")
+    List<SubmissionStatusCountView> countByTaskAndStatus();
+
+    // İstatistik mutabakatı (StatsService): engineer bazında
+    @Query("select s.engineer.id as id, cast(null as Long) as companyId, s.status as status, count(s) as total " +
+            "from TaskSubmission s group by s.engineer.id, s.status")
+    List<SubmissionStatusCountView> countByEngineerAndStatus();
+
+    // Şirket export'u; TaskRepository.streamExportByCompanyId ile aynı kurallar (transaction + close)
+    @Query("select s.id as id, t.id as taskId, e.id as engineerId, e.fullName as engineerName, " +
+            "e.email as engineerEmail, s.status as status, s.notes as notes, s.attachmentUrl as attachmentUrl, " +
+            "s.submittedAt as submittedAt, s.reviewedAt as reviewedAt " +
+            "from TaskSubmission s join s.task t join s.engineer e where t.company.id = :companyId " +
+            "order by t.id, s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<SubmissionExportRow> streamExportByCompanyId(@Param("companyId") Long companyId);
+
+    // Öneri profili: engineer'ın tüm submission'larının görev zorluğu / şirketi
+    @Query("select t.id as taskId, t.difficulty as difficulty, t.company.id as companyId " +
+            "from TaskSubmission s join s.task t where s.engineer.id = :engineerId")
+    List<SubmissionFeatureView> findFeaturesByEngineerId(@Param("engineerId") Long engineerId);
 }
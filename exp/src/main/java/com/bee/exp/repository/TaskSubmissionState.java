@@ -0,0 +1,12 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.SubmissionStatus;
+
+/**
+ * Listeleme ekranı için submission'ın sadece ihtiyaç duyulan kolonları.
+ * Entity yüklemeden (task / engineer join'i olmadan) claimedByMe / submittedByMe hesaplamak için.
+ */
+public interface TaskSubmissionState {
+    Long getTaskId();
+    SubmissionStatus getStatus();
+}
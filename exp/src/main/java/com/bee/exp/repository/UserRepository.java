@@ -2,9 +2,53 @@ package com.bee.exp.repository;
 
 import com.bee.exp.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // Register / login'de kullanılır, o anda principal yok: sticky yönlendirme devreye girmez.
+    // readOnly değil → okuma replikası varken de primary'den okunur; kayıttan hemen sonraki login
+    // ve aynı e-postayla ikinci kayıt replikasyon gecikmesine takılmaz
+    @Transactional
     Optional<User> findByEmail(String email);
+
+    // Principal token'dan kurulduğunda xp / level taşımaz; tek kolon okunur
+    @Query("select coalesce(u.xp, 0) from User u where u.id = :userId")
+    Optional<Integer> findXpById(@Param("userId") Long userId);
+
+    /**
+     * XP'yi DB içinde atomik olarak artırır (read-modify-write yok, lost update yok).
+     * Level aynı UPDATE içinde yeni XP'den türetilir; SET ifadeleri eski satırı gördüğü için
+     * hepsi "xp + amount" üzerinden hesaplanır. Eşikler XpService'ten gelir.
+     */
+    @Modifying
+    @Query("update User u set " +
+            "u.xp = coalesce(u.xp, 0) + :amount, " +
+            "u.level = case " +
+            "  when coalesce(u.xp, 0) + :amount < :level2 then 1 " +
+            "  when coalesce(u.xp, 0) + :amount < :level3 then 2 " +
+            "  when coalesce(u.xp, 0) + :amount < :level4 then 3 " +
+            "  else 4 end, " +
+            "u.updatedAt = :now " +
+            "where u.id = :userId")
+    int incrementXp(@Param("userId") Long userId,
+                    @Param("amount") int amount,
+                    @Param("level2") int level2,
+                    @Param("level3") int level3,
+                    @Param("level4") int level4,
+                    @Param("now") Instant now);
+
+    @Modifying
+    @Query("update User u set u.passwordHash = :newHash, u.updatedAt = :now " +
+            "where u.id = :userId and u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("userId") Long userId,
+                           @Param("oldHash") String oldHash,
+                           @Param("newHash") String newHash,
+                           @Param("now") Instant now);
 }
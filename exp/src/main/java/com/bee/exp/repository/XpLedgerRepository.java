@@ -0,0 +1,22 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.XpLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface XpLedgerRepository extends JpaRepository<XpLedgerEntry, Long> {
+
+    // users.xp ile mutabakat için
+    @Query("select coalesce(sum(e.amount), 0) from XpLedgerEntry e where e.user.id = :userId")
+    long sumAmountByUserId(@Param("userId") Long userId);
+
+    // Leaderboard'ı başlangıçta yeniden kurmak için: since'ten beri user / company / difficulty kırılımında toplam XP
+    @Query("select e.user.id as userId, e.companyId as companyId, e.difficulty as difficulty, sum(e.amount) as total " +
+            "from XpLedgerEntry e where e.createdAt >= :since " +
+            "group by e.user.id, e.companyId, e.difficulty")
+    List<XpTotalView> sumAmountsSince(@Param("since") Instant since);
+}
@@ -0,0 +1,10 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.TaskDifficulty;
+
+public interface XpTotalView {
+    Long getUserId();
+    Long getCompanyId();
+    TaskDifficulty getDifficulty();
+    Long getTotal();
+}
@@ -0,0 +1,53 @@
+package com.bee.exp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * /api/auth için IP ve e-posta bazlı kabul kontrolü (sabit pencere sayacı).
+ * Limit aşılırsa BCrypt'e hiç gidilmeden 429 döner.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private final Cache<String, AtomicInteger> counters;
+    private final int perIpLimit;
+    private final int perEmailLimit;
+
+    public AuthRateLimiter(
+            @Value("${app.security.auth-rate-limit.per-ip:30}") int perIpLimit,
+            @Value("${app.security.auth-rate-limit.per-email:10}") int perEmailLimit,
+            @Value("${app.security.auth-rate-limit.window:1m}") Duration window
+    ) {
+        this.perIpLimit = perIpLimit;
+        this.perEmailLimit = perEmailLimit;
+        this.counters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void check(String ip, String email) {
+        if (ip != null) {
+            hit("ip:" + ip, perIpLimit);
+        }
+        if (email != null) {
+            hit("email:" + email.trim().toLowerCase(), perEmailLimit);
+        }
+    }
+
+    private void hit(String key, int limit) {
+        // expireAfterWrite: pencere ilk istekten itibaren sayılır, artırmalar süreyi uzatmaz
+        int count = counters.get(key, k -> new AtomicInteger()).incrementAndGet();
+        if (count > limit) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please retry later");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.bee.exp.security;
+
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.UserRepository;
+import com.bee.exp.service.XpGrantedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * JwtAuthFilter için opsiyonel kullanıcı cache'i.
+ * - Kapalıyken (varsayılan) principal sadece token claim'lerinden kurulur, DB'ye gidilmez.
+ * - Açıkken tam User entity'si id ile cache'lenir (boyut + TTL sınırlı),
+ *   kullanıcıyı güncelleyen kod evict(id) çağırır. XP değişikliği XpGrantedEvent ile commit'ten sonra evict edilir:
+ *   transaction içinde silinse, eşzamanlı bir istek eski xp / level'ı tekrar yükleyip TTL boyunca tutabilirdi.
+ * Hit / miss sayıları "cache.*{cache=authUsers}" metrikleri olarak yayınlanır.
+ */
+@Component
+public class AuthUserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, User> cache;
+
+    public AuthUserCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.user-cache.enabled:false}") boolean enabled,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.user-cache.ttl:5m}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        if (enabled) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "authUsers");
+        } else {
+            this.cache = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Cache kapalıysa doğrudan DB'ye gider. Kullanıcı yoksa cache'e bir şey yazılmaz.
+     * Okuma replikası varken bile primary'den okunur (readOnly değil): yeni kayıt olmuş
+     * kullanıcının token'ı, kayıt replikaya ulaşmadan reddedilmesin.
+     */
+    @Transactional
+    public Optional<User> get(Long userId) {
+        if (cache == null) {
+            return userRepository.findById(userId);
+        }
+        User cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<User> loaded = userRepository.findById(userId);
+        loaded.ifPresent(u -> cache.put(userId, u));
+        return loaded;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onXpGranted(XpGrantedEvent event) {
+        evict(event.userId());
+    }
+
+    public void evict(Long userId) {
+        if (cache != null && userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+}
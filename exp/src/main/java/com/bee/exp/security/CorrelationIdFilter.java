@@ -0,0 +1,52 @@
+package com.bee.exp.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Her isteğe bir correlation id atar (gelen X-Request-Id varsa onu kullanır),
+ * MDC'ye "correlationId" olarak koyar ve cevapta geri döner.
+ * Diğer tüm filtrelerden (Security dahil) önce çalışır ki onların logları da id'yi taşısın.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    // Dışarıdan gelen değer loga yazılacağı için sadece güvenli karakterler
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String id = request.getHeader(HEADER);
+        if (id == null || !VALID.matcher(id).matches()) {
+            id = UUID.randomUUID().toString();
+        }
+
+        MDC.put(MDC_KEY, id);
+        response.setHeader(HEADER, id);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
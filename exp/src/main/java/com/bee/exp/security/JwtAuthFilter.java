@@ -1,13 +1,15 @@
 package com.bee.exp.security;
 
+import com.bee.exp.domain.Role;
 import com.bee.exp.domain.User;
-import com.bee.exp.repository.UserRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -19,11 +21,26 @@ import java.io.IOException;
 import java.util.List;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final AuthUserCache authUserCache;
+
+    // auth.jwt{outcome=valid|invalid|expired|user_missing}; header'sız istekler sayılmaz.
+    // user_missing sadece user cache açıkken kaydedilir: claim modunda kullanıcıya bakılmaz, hep 0 olurdu
+    private final Counter valid;
+    private final Counter invalid;
+    private final Counter expired;
+    private final Counter userMissing;
+
+    public JwtAuthFilter(JwtUtil jwtUtil, AuthUserCache authUserCache, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.authUserCache = authUserCache;
+        this.valid = outcomeCounter(meterRegistry, "valid");
+        this.invalid = outcomeCounter(meterRegistry, "invalid");
+        this.expired = outcomeCounter(meterRegistry, "expired");
+        this.userMissing = authUserCache.isEnabled() ? outcomeCounter(meterRegistry, "user_missing") : null;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -41,7 +58,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 Long userId = Long.parseLong(claims.getSubject());
                 String roleName = claims.get("role", String.class);
 
-                User user = userRepository.findById(userId).orElse(null);
+                User user = authUserCache.isEnabled()
+                        ? authUserCache.get(userId).orElse(null)
+                        : fromClaims(userId, roleName, claims);
                 if (user != null) {
                     var auth = new UsernamePasswordAuthenticationToken(
                             user,
@@ -49,11 +68,39 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                             List.of(new SimpleGrantedAuthority("ROLE_" + roleName))
                     );
                     SecurityContextHolder.getContext().setAuthentication(auth);
+                    valid.increment();
+                } else {
+                    // Sadece cache modunda olabilir (kullanıcı silinmiş)
+                    userMissing.increment();
                 }
-            } catch (Exception ignored) {
+            } catch (ExpiredJwtException e) {
+                expired.increment();
+            } catch (Exception e) {
+                invalid.increment();
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * DB'ye gitmeden, imzası doğrulanmış token'dan hafif bir principal kurar.
+     * Sadece id / role / email / fullName dolu; repository sorgularında (findByOwner vb.)
+     * id üzerinden eşleştiği için yeterli.
+     */
+    private User fromClaims(Long userId, String roleName, Claims claims) {
+        return User.builder()
+                .id(userId)
+                .role(Role.valueOf(roleName))
+                .email(claims.get("email", String.class))
+                .fullName(claims.get("name", String.class))
+                .build();
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("auth.jwt")
+                .description("Bearer token validations by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
 }
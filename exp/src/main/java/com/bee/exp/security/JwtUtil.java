@@ -14,6 +14,7 @@ import java.util.Date;
 public class JwtUtil {
 
     private final Key key;
+    private final JwtParser parser;   // immutable & thread-safe, her istekte yeniden kurmuyoruz
     private final long expirationMs;
 
     public JwtUtil(
@@ -22,10 +23,11 @@ public class JwtUtil {
     ) {
         // Secret minimum 32 byte olmalı (HS256 için)
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
         this.expirationMs = expirationMs;
     }
 
-    public String generateToken(Long userId, Role role, String email) {
+    public String generateToken(Long userId, Role role, String email, String fullName) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expirationMs);
 
@@ -33,6 +35,7 @@ public class JwtUtil {
                 .setSubject(String.valueOf(userId))
                 .claim("role", role.name())
                 .claim("email", email)
+                .claim("name", fullName)
                 .setIssuedAt(now)
                 .setExpiration(exp)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -40,6 +43,6 @@ public class JwtUtil {
     }
 
     public Jws<Claims> parse(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return parser.parseClaimsJws(token);
     }
 }
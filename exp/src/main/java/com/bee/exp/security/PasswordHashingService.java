@@ -0,0 +1,107 @@
+package com.bee.exp.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt işleri (hash / doğrulama) için ayrı, sınırlı executor.
+ * - Request thread'leri BCrypt'i beklerken bloklanmaz (controller CompletableFuture döner).
+ * - Kuyruk doluysa iş reddedilir → 503; login fırtınası diğer endpoint'leri aç bırakmaz.
+ */
+@Component
+public class PasswordHashingService {
+
+    // $2a$10$... → cost = 10
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final int bcryptStrength;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.bcrypt.strength:10}") int bcryptStrength,
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:200}") int queueCapacity
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.bcryptStrength = bcryptStrength;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing");
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String hash) {
+        return submit(() -> passwordEncoder.matches(rawPassword, hash));
+    }
+
+    /**
+     * Hash, yapılandırılmış cost'tan farklı bir cost ile üretilmişse true.
+     * BCryptPasswordEncoder.upgradeEncoding sadece artışı görür; cost düşürüldüğünde de
+     * (ör. login gecikmesi için) eski hash'ler yenilensin.
+     */
+    public boolean needsRehash(String hash) {
+        if (hash == null) {
+            return false;
+        }
+        Matcher m = BCRYPT_COST.matcher(hash);
+        return m.find() && Integer.parseInt(m.group(1)) != bcryptStrength;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        // correlationId vb. MDC alanları executor thread'inde de loglara düşsün
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (mdc != null) MDC.setContextMap(mdc);
+                try {
+                    return work.get();
+                } finally {
+                    MDC.clear();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, please retry");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
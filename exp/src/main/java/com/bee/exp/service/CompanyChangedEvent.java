@@ -0,0 +1,10 @@
+package com.bee.exp.service;
+
+/**
+ * Var olan bir şirketin görev listelerinde görünen adı değiştiğinde yayınlanır.
+ * Sadece o şirketin görevlerini içeren listeler etkilenir; görev / durum / sayaç değişmez.
+ */
+public record CompanyChangedEvent(Long companyId,
+                                  String oldName,
+                                  String newName) {
+}
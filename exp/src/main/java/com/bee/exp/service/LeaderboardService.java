@@ -0,0 +1,148 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.repository.XpLedgerRepository;
+import com.bee.exp.repository.XpTotalView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bellek içi leaderboard.
+ * - Her (pencere, kapsam) ikilisi için ayrı bir RankedScoreIndex tutulur.
+ *   Kapsamlar: global, şirket, zorluk, şirket + zorluk.
+ * - XP verildiğinde (commit sonrası) ilgili index'ler artımlı güncellenir.
+ * - Açılışta ve reconcile-interval'da bir xp_ledger'dan yeniden kurulur: olaylar sadece XP'yi veren
+ *   instance'ta işlenir (outbox), diğer instance'lar farkı bu turda alır.
+ *   Yeniden kurulum sırasında gelen olaylar kaybolabilir; bir sonraki turda düzelir.
+ * - MONTH / WEEK pencereleri dönem değiştiğinde boş başlar.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    /**
+     * Leaderboard satırı; rank 1 tabanlı.
+     */
+    public record LeaderboardEntry(int rank, long userId, long xp) {
+    }
+
+    private static final class Board {
+        final Instant periodStart;
+        final RankedScoreIndex index = new RankedScoreIndex();
+
+        Board(Instant periodStart) {
+            this.periodStart = periodStart;
+        }
+    }
+
+    private final XpLedgerRepository xpLedgerRepository;
+
+    private volatile Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.leaderboard.reconcile-interval:PT5M}",
+            initialDelayString = "${app.leaderboard.reconcile-interval:PT5M}")
+    public void rebuild() {
+        Instant now = Instant.now();
+        Map<String, Board> fresh = new ConcurrentHashMap<>();
+        int rows = 0;
+
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            Instant start = window.start(now);
+            for (XpTotalView v : xpLedgerRepository.sumAmountsSince(start)) {
+                apply(fresh, window, start, v.getUserId(), v.getTotal(), v.getCompanyId(), v.getDifficulty());
+                rows++;
+            }
+        }
+
+        boards = fresh;
+        log.debug("Leaderboard rebuilt from {} ledger aggregates", rows);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onXpGranted(XpGrantedEvent event) {
+        Instant now = Instant.now();
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            apply(boards, window, window.start(now), event.userId(), event.amount(),
+                    event.companyId(), event.difficulty());
+        }
+    }
+
+    public List<LeaderboardEntry> top(LeaderboardWindow window, Long companyId, TaskDifficulty difficulty,
+                                      int offset, int limit) {
+        Board board = current(window, companyId, difficulty);
+        if (board == null) {
+            return List.of();
+        }
+        List<LeaderboardEntry> result = new ArrayList<>();
+        for (RankedScoreIndex.Ranked r : board.index.range(offset, limit)) {
+            result.add(new LeaderboardEntry(r.rank(), r.userId(), r.score()));
+        }
+        return result;
+    }
+
+    /**
+     * Kullanıcının bu leaderboard'daki yeri; hiç XP almadıysa null.
+     */
+    public LeaderboardEntry rankOf(Long userId, LeaderboardWindow window, Long companyId, TaskDifficulty difficulty) {
+        Board board = current(window, companyId, difficulty);
+        if (board == null) {
+            return null;
+        }
+        RankedScoreIndex.Ranked r = board.index.rankOf(userId);
+        return r == null ? null : new LeaderboardEntry(r.rank(), r.userId(), r.score());
+    }
+
+    public int size(LeaderboardWindow window, Long companyId, TaskDifficulty difficulty) {
+        Board board = current(window, companyId, difficulty);
+        return board == null ? 0 : board.index.size();
+    }
+
+    private Board current(LeaderboardWindow window, Long companyId, TaskDifficulty difficulty) {
+        Board board = boards.get(key(window, companyId, difficulty));
+        if (board == null || !board.periodStart.equals(window.start(Instant.now()))) {
+            return null;
+        }
+        return board;
+    }
+
+    private static void apply(Map<String, Board> target, LeaderboardWindow window, Instant start,
+                              Long userId, long amount, Long companyId, TaskDifficulty difficulty) {
+        if (userId == null || amount == 0) {
+            return;
+        }
+        add(target, window, start, null, null, userId, amount);
+        if (companyId != null) {
+            add(target, window, start, companyId, null, userId, amount);
+        }
+        if (difficulty != null) {
+            add(target, window, start, null, difficulty, userId, amount);
+        }
+        if (companyId != null && difficulty != null) {
+            add(target, window, start, companyId, difficulty, userId, amount);
+        }
+    }
+
+    private static void add(Map<String, Board> target, LeaderboardWindow window, Instant start,
+                            Long companyId, TaskDifficulty difficulty, long userId, long amount) {
+        Board board = target.compute(key(window, companyId, difficulty),
+                (k, b) -> b == null || !b.periodStart.equals(start) ? new Board(start) : b);
+        board.index.add(userId, amount);
+    }
+
+    private static String key(LeaderboardWindow window, Long companyId, TaskDifficulty difficulty) {
+        return window.name() + "|" + (companyId == null ? "*" : companyId) + "|" + (difficulty == null ? "*" : difficulty.name());
+    }
+}
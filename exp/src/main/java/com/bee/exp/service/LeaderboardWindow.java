@@ -0,0 +1,26 @@
+package com.bee.exp.service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Leaderboard zaman pencereleri (UTC takvimine göre).
+ */
+public enum LeaderboardWindow {
+    ALL_TIME,
+    MONTH,
+    WEEK;
+
+    public Instant start(Instant now) {
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        return switch (this) {
+            case ALL_TIME -> Instant.EPOCH;
+            case MONTH -> today.withDayOfMonth(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+            case WEEK -> today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    .atStartOfDay().toInstant(ZoneOffset.UTC);
+        };
+    }
+}
@@ -0,0 +1,242 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.OutboxEvent;
+import com.bee.exp.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Outbox'ı tek bir arka plan thread'inde boşaltır.
+ * - Outbox'a yazan transaction commit olunca uyandırılır; ayrıca poll-interval'da bir
+ *   (backoff'u dolan retry'lar ve diğer instance'ların bıraktıkları için).
+ * - Batch tek transaction'da işlenir: handler etkileri + processedAt birlikte commit olur.
+ * - Batch'te bir olay patlarsa batch geri alınır ve olaylar tek tek denenir; sadece hatalı olan
+ *   backoff'a girer, max-attempts sonunda dead letter (failedAt) olur.
+ */
+@Slf4j
+@Service
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, OutboxHandler> handlers = new HashMap<>();
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean pending;
+
+    private final Counter processedCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Duration retention;
+
+    public OutboxDispatcher(
+            OutboxEventRepository outboxEventRepository,
+            PlatformTransactionManager transactionManager,
+            List<OutboxHandler> handlerList,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.retry-backoff:PT1S}") Duration retryBackoff,
+            @Value("${app.outbox.max-retry-backoff:PT10M}") Duration maxRetryBackoff,
+            @Value("${app.outbox.retention:P7D}") Duration retention
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (OutboxHandler h : handlerList) {
+            if (handlers.put(h.eventType(), h) != null) {
+                throw new IllegalStateException("Duplicate outbox handler for " + h.eventType());
+            }
+        }
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.retention = retention;
+
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "outbox-dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+        this.processedCounter = outcomeCounter(meterRegistry, "processed");
+        this.retriedCounter = outcomeCounter(meterRegistry, "retried");
+        this.deadCounter = outcomeCounter(meterRegistry, "dead");
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("outbox.events")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppended(OutboxService.Appended event) {
+        trigger();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT5S}")
+    public void poll() {
+        trigger();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval:PT1H}")
+    public void purgeProcessed() {
+        outboxEventRepository.deleteProcessedBefore(Instant.now().minus(retention));
+    }
+
+    /**
+     * Çağıranı bekletmez; boşaltma zaten sürüyorsa sadece bir tur daha yapılmasını işaretler.
+     */
+    public void trigger() {
+        pending = true;
+        if (running.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            while (pending) {
+                pending = false;
+                while (dispatchBatch() == batchSize) {
+                    // dolu batch → arkasında daha fazlası olabilir
+                }
+            }
+        } catch (RuntimeException e) {
+            // DB erişilemiyor vb.; bir sonraki poll tekrar dener
+            log.error("Outbox dispatch failed", e);
+            return;
+        } finally {
+            running.set(false);
+        }
+        // drain bittikten hemen sonra gelen tetik kaçmasın
+        if (pending) {
+            trigger();
+        }
+    }
+
+    // Denenen olay sayısını döner
+    private int dispatchBatch() {
+        List<Long> claimed = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(Instant.now(), batchSize);
+                for (OutboxEvent e : batch) {
+                    claimed.add(e.getId());
+                }
+                handle(batch);
+            });
+            processedCounter.increment(claimed.size());
+        } catch (RuntimeException e) {
+            if (claimed.isEmpty()) {
+                throw e;
+            }
+            log.debug("Outbox batch of {} failed, retrying one by one", claimed.size(), e);
+            for (Long id : claimed) {
+                dispatchOne(id);
+            }
+        }
+        return claimed.size();
+    }
+
+    private void dispatchOne(Long id) {
+        OutboxEvent[] locked = new OutboxEvent[1];
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.lockPending(id).ifPresent(e -> {
+                        locked[0] = e;
+                        handle(List.of(e));
+                    }));
+            if (locked[0] != null) {
+                processedCounter.increment();
+            }
+        } catch (RuntimeException ex) {
+            if (locked[0] != null) {
+                recordFailure(locked[0], ex);
+            }
+        }
+    }
+
+    // Aynı tipteki olaylar kendi handler'ına tek listede gider; batch'te bir aggregate'ten tek olay var
+    private void handle(List<OutboxEvent> batch) {
+        Map<String, List<OutboxEvent>> byType = new LinkedHashMap<>();
+        for (OutboxEvent e : batch) {
+            byType.computeIfAbsent(e.getEventType(), k -> new ArrayList<>()).add(e);
+        }
+        for (Map.Entry<String, List<OutboxEvent>> entry : byType.entrySet()) {
+            OutboxHandler handler = handlers.get(entry.getKey());
+            if (handler == null) {
+                throw new RuntimeException("No outbox handler for " + entry.getKey());
+            }
+            handler.handle(entry.getValue());
+        }
+
+        Instant now = Instant.now();
+        for (OutboxEvent e : batch) {
+            e.setProcessedAt(now);
+        }
+    }
+
+    // Geri alınan transaction'dan bağımsız, ayrı bir UPDATE ile yazılır
+    private void recordFailure(OutboxEvent event, RuntimeException ex) {
+        int attempts = event.getAttempts() + 1;
+        boolean dead = attempts >= maxAttempts;
+        Instant now = Instant.now();
+        String error = String.valueOf(ex);
+        if (error.length() > 1000) {
+            error = error.substring(0, 1000);
+        }
+        outboxEventRepository.recordFailure(event.getId(), attempts, now.plus(backoff(attempts)), error,
+                dead ? now : null);
+
+        if (dead) {
+            deadCounter.increment();
+            log.error("Outbox event {} ({} {}:{}) gave up after {} attempts",
+                    event.getId(), event.getEventType(), event.getAggregateType(), event.getAggregateId(), attempts, ex);
+        } else {
+            retriedCounter.increment();
+            log.warn("Outbox event {} ({}) failed, attempt {}: {}",
+                    event.getId(), event.getEventType(), attempts, error);
+        }
+    }
+
+    // retry-backoff * 2^(deneme-1), üst sınır max-retry-backoff
+    private Duration backoff(int attempts) {
+        Duration d = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return d.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : d;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
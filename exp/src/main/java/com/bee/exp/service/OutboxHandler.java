@@ -0,0 +1,20 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Bir outbox olay tipinin yan etkisi (XP, bildirim vb.).
+ * handle, olayları "işlendi" olarak işaretleyen transaction içinde çağrılır: DB'ye yazılan
+ * etkiler ya hep birlikte commit olur ya hiç, yani tam bir kez uygulanır. DB dışı etkiler
+ * (e-posta vb.) tekrar denemede yinelenebilir; olay id'si ile idempotent yapılmalı.
+ * Exception atılırsa olay backoff ile tekrar denenir.
+ */
+public interface OutboxHandler {
+
+    String eventType();
+
+    // Aynı tipteki olaylar, id sırasıyla; her aggregate'ten en fazla bir tane
+    void handle(List<OutboxEvent> events);
+}
@@ -0,0 +1,61 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.OutboxEvent;
+import com.bee.exp.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Outbox'a yazma. Sadece çağıranın transaction'ı içinde çalışır: olay, durum değişikliğiyle
+ * birlikte commit olur ya da birlikte geri alınır. Insert'ler persistence context flush'ında
+ * JDBC batch'i ile gider; istek yolunda yan etkilerin kendisi çalışmaz.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    // Commit sonrası dispatcher'ı uyandırmak için
+    public record Appended(String eventType) {
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        Instant now = Instant.now();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(toJson(payload))
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+        eventPublisher.publishEvent(new Appended(eventType));
+    }
+
+    public <T> T payload(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid outbox payload: " + event.getId(), e);
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Outbox payload cannot be serialized", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.bee.exp.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Skor sıralı, rank sorgusu yapılabilen (order-statistic) index.
+ * Boyut bilgili bir treap: ekleme / güncelleme / rank O(log n), top-N O(log n + N).
+ * Sıralama: yüksek skor önce, eşitlikte küçük userId önce.
+ * Thread-safe (tüm metodlar synchronized).
+ */
+final class RankedScoreIndex {
+
+    record Ranked(long userId, long score, int rank) {
+    }
+
+    private static final class Node {
+        final long userId;
+        final long score;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(long userId, long score) {
+            this.userId = userId;
+            this.score = score;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final Map<Long, Long> scores = new HashMap<>();
+    private Node root;
+
+    /**
+     * Kullanıcının skorunu delta kadar artırır (yoksa 0'dan başlar), yeni skoru döner.
+     */
+    synchronized long add(long userId, long delta) {
+        Long old = scores.get(userId);
+        long next = (old == null ? 0 : old) + delta;
+        if (old != null) {
+            remove(userId, old);
+        }
+        insert(new Node(userId, next));
+        scores.put(userId, next);
+        return next;
+    }
+
+    synchronized int size() {
+        return scores.size();
+    }
+
+    /**
+     * 1 tabanlı rank; kullanıcı index'te yoksa null.
+     */
+    synchronized Ranked rankOf(long userId) {
+        Long score = scores.get(userId);
+        if (score == null) {
+            return null;
+        }
+        int before = 0;
+        Node t = root;
+        while (t != null) {
+            if (before(t.score, t.userId, score, userId)) {
+                before += size(t.left) + 1;
+                t = t.right;
+            } else {
+                t = t.left;
+            }
+        }
+        return new Ranked(userId, score, before + 1);
+    }
+
+    /**
+     * offset'ten (0 tabanlı) başlayarak en fazla limit kayıt, sıralı.
+     */
+    synchronized List<Ranked> range(int offset, int limit) {
+        List<Ranked> out = new ArrayList<>();
+        if (limit > 0 && offset < scores.size()) {
+            collect(root, new int[]{offset}, offset, limit, out);
+        }
+        return out;
+    }
+
+    private void collect(Node t, int[] skip, int offset, int limit, List<Ranked> out) {
+        if (t == null || out.size() >= limit) {
+            return;
+        }
+        // Sol alt ağaç tamamen atlanacaksa içine hiç inme
+        int leftSize = size(t.left);
+        if (skip[0] >= leftSize) {
+            skip[0] -= leftSize;
+        } else {
+            collect(t.left, skip, offset, limit, out);
+        }
+        if (out.size() >= limit) {
+            return;
+        }
+        if (skip[0] > 0) {
+            skip[0]--;
+        } else {
+            out.add(new Ranked(t.userId, t.score, offset + out.size() + 1));
+        }
+        collect(t.right, skip, offset, limit, out);
+    }
+
+    private void insert(Node node) {
+        Node[] parts = split(root, node.score, node.userId);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    private void remove(long userId, long score) {
+        Node[] parts = split(root, score, userId);
+        // (score, userId + 1) sıralamada hemen arkadan gelir → sağ parçanın ilk düğümü tam olarak bu kayıt
+        Node[] rest = split(parts[1], score, userId + 1);
+        root = merge(parts[0], rest[1]);
+    }
+
+    // [key'den önce gelenler, key ve sonrası]
+    private Node[] split(Node t, long score, long userId) {
+        if (t == null) {
+            return new Node[]{null, null};
+        }
+        if (before(t.score, t.userId, score, userId)) {
+            Node[] r = split(t.right, score, userId);
+            t.right = r[0];
+            update(t);
+            return new Node[]{t, r[1]};
+        }
+        Node[] l = split(t.left, score, userId);
+        t.left = l[1];
+        update(t);
+        return new Node[]{l[0], t};
+    }
+
+    // a'daki tüm düğümler b'dekilerden önce gelir
+    private Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static boolean before(long scoreA, long userA, long scoreB, long userB) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB;
+        }
+        return userA < userB;
+    }
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static void update(Node n) {
+        n.size = 1 + size(n.left) + size(n.right);
+    }
+}
@@ -0,0 +1,193 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.repository.SubmissionStatusCountView;
+import com.bee.exp.repository.TaskRepository;
+import com.bee.exp.repository.TaskStatusCountView;
+import com.bee.exp.repository.TaskSubmissionRepository;
+import com.bee.exp.repository.XpLedgerRepository;
+import com.bee.exp.repository.XpTotalView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Dashboard sayaçları; okumalar veri boyutundan bağımsız (map lookup).
+ * - Şirket başına durum kırılımında görev ve submission sayıları
+ * - Görev başına submission sayıları
+ * - Engineer başına submission sayıları ve kazanılan XP
+ * Commit sonrası olaylarla artımlı güncellenir, periyodik olarak kaynak tablolarla mutabakat yapılır.
+ * Mutabakat sırasında gelen olaylar kaybolabilir; bir sonraki turda düzelir.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatsService {
+
+    public record CompanyStats(Long companyId,
+                               Map<TaskStatus, Long> tasksByStatus,
+                               Map<SubmissionStatus, Long> submissionsByStatus) {
+    }
+
+    public record TaskStats(Long taskId, Map<SubmissionStatus, Long> submissionsByStatus) {
+    }
+
+    public record EngineerStats(Long userId, long xp, Map<SubmissionStatus, Long> submissionsByStatus) {
+    }
+
+    private static final class Counters {
+        final Map<Long, AtomicLongArray> companyTasks = new ConcurrentHashMap<>();
+        final Map<Long, AtomicLongArray> companySubmissions = new ConcurrentHashMap<>();
+        final Map<Long, AtomicLongArray> taskSubmissions = new ConcurrentHashMap<>();
+        final Map<Long, AtomicLongArray> engineerSubmissions = new ConcurrentHashMap<>();
+        final Map<Long, AtomicLong> engineerXp = new ConcurrentHashMap<>();
+    }
+
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+    private static final SubmissionStatus[] SUBMISSION_STATUSES = SubmissionStatus.values();
+
+    private final TaskRepository taskRepository;
+    private final TaskSubmissionRepository taskSubmissionRepository;
+    private final XpLedgerRepository xpLedgerRepository;
+
+    private volatile Counters counters = new Counters();
+    private volatile boolean dirty;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT10M}",
+            initialDelayString = "${app.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        dirty = false;
+        Counters fresh = new Counters();
+
+        // Durumu olmayan eski satırlar (db/submission-status-backfill.sql öncesi) sayılmaz
+        for (TaskStatusCountView v : taskRepository.countByCompanyAndStatus()) {
+            if (v.getCompanyId() != null && v.getStatus() != null) {
+                slot(fresh.companyTasks, v.getCompanyId(), TASK_STATUSES.length)
+                        .addAndGet(v.getStatus().ordinal(), v.getTotal());
+            }
+        }
+        for (SubmissionStatusCountView v : taskSubmissionRepository.countByTaskAndStatus()) {
+            if (v.getStatus() == null) {
+                continue;
+            }
+            int i = v.getStatus().ordinal();
+            slot(fresh.taskSubmissions, v.getId(), SUBMISSION_STATUSES.length).addAndGet(i, v.getTotal());
+            if (v.getCompanyId() != null) {
+                slot(fresh.companySubmissions, v.getCompanyId(), SUBMISSION_STATUSES.length).addAndGet(i, v.getTotal());
+            }
+        }
+        for (SubmissionStatusCountView v : taskSubmissionRepository.countByEngineerAndStatus()) {
+            if (v.getStatus() == null) {
+                continue;
+            }
+            slot(fresh.engineerSubmissions, v.getId(), SUBMISSION_STATUSES.length)
+                    .addAndGet(v.getStatus().ordinal(), v.getTotal());
+        }
+        for (XpTotalView v : xpLedgerRepository.sumAmountsSince(Instant.EPOCH)) {
+            fresh.engineerXp.computeIfAbsent(v.getUserId(), k -> new AtomicLong()).addAndGet(v.getTotal());
+        }
+
+        counters = fresh;
+        log.debug("Stats reconciled: {} companies, {} tasks with submissions, {} engineers",
+                fresh.companyTasks.size(), fresh.taskSubmissions.size(), fresh.engineerSubmissions.size());
+    }
+
+    // Toplu değişikliklerden (import vb.) sonra tam mutabakatı kısa aralıkla tetikler
+    @Scheduled(fixedDelayString = "${app.stats.dirty-check-interval:PT10S}")
+    public void reconcileIfDirty() {
+        if (dirty) {
+            reconcile();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.isBulk()) {
+            dirty = true;
+            return;
+        }
+        if (event.companyId() == null || event.oldStatus() == event.newStatus()) {
+            return;
+        }
+        AtomicLongArray c = slot(counters.companyTasks, event.companyId(), TASK_STATUSES.length);
+        if (event.oldStatus() != null) {
+            c.decrementAndGet(event.oldStatus().ordinal());
+        }
+        if (event.newStatus() != null) {
+            c.incrementAndGet(event.newStatus().ordinal());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionChanged(SubmissionChangedEvent event) {
+        if (event.oldStatus() == event.newStatus()) {
+            return;
+        }
+        Counters c = counters;
+        move(slot(c.taskSubmissions, event.taskId(), SUBMISSION_STATUSES.length), event.oldStatus(), event.newStatus());
+        move(slot(c.engineerSubmissions, event.engineerId(), SUBMISSION_STATUSES.length), event.oldStatus(), event.newStatus());
+        if (event.companyId() != null) {
+            move(slot(c.companySubmissions, event.companyId(), SUBMISSION_STATUSES.length), event.oldStatus(), event.newStatus());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onXpGranted(XpGrantedEvent event) {
+        if (event.userId() != null && event.amount() != 0) {
+            counters.engineerXp.computeIfAbsent(event.userId(), k -> new AtomicLong()).addAndGet(event.amount());
+        }
+    }
+
+    public CompanyStats companyStats(Long companyId) {
+        Counters c = counters;
+        return new CompanyStats(companyId,
+                toMap(c.companyTasks.get(companyId), TASK_STATUSES, TaskStatus.class),
+                toMap(c.companySubmissions.get(companyId), SUBMISSION_STATUSES, SubmissionStatus.class));
+    }
+
+    public TaskStats taskStats(Long taskId) {
+        return new TaskStats(taskId,
+                toMap(counters.taskSubmissions.get(taskId), SUBMISSION_STATUSES, SubmissionStatus.class));
+    }
+
+    public EngineerStats engineerStats(Long userId) {
+        Counters c = counters;
+        AtomicLong xp = c.engineerXp.get(userId);
+        return new EngineerStats(userId, xp != null ? xp.get() : 0,
+                toMap(c.engineerSubmissions.get(userId), SUBMISSION_STATUSES, SubmissionStatus.class));
+    }
+
+    private static AtomicLongArray slot(Map<Long, AtomicLongArray> map, Long id, int size) {
+        return map.computeIfAbsent(id, k -> new AtomicLongArray(size));
+    }
+
+    private static void move(AtomicLongArray counts, SubmissionStatus from, SubmissionStatus to) {
+        if (from != null) {
+            counts.decrementAndGet(from.ordinal());
+        }
+        if (to != null) {
+            counts.incrementAndGet(to.ordinal());
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> toMap(AtomicLongArray counts, E[] values, Class<E> type) {
+        Map<E, Long> result = new EnumMap<>(type);
+        for (E e : values) {
+            result.put(e, counts != null ? Math.max(0, counts.get(e.ordinal())) : 0L);
+        }
+        return result;
+    }
+}
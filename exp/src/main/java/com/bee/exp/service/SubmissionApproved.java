@@ -0,0 +1,16 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.TaskDifficulty;
+
+/**
+ * Submission onaylandı (outbox payload'ı). XP ve diğer onay yan etkileri bundan türetilir.
+ */
+public record SubmissionApproved(Long submissionId,
+                                 Long taskId,
+                                 Long companyId,
+                                 Long engineerId,
+                                 TaskDifficulty difficulty) {
+
+    public static final String TYPE = "SUBMISSION_APPROVED";
+    public static final String AGGREGATE = "submission";
+}
@@ -0,0 +1,15 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.SubmissionStatus;
+
+/**
+ * Bir submission'ın durumu değiştiğinde yayınlanır.
+ * oldStatus null → yeni claim. submissionId, satır native insert ile oluşturulduğunda (claim) null olabilir.
+ */
+public record SubmissionChangedEvent(Long submissionId,
+                                     Long taskId,
+                                     Long companyId,
+                                     Long engineerId,
+                                     SubmissionStatus oldStatus,
+                                     SubmissionStatus newStatus) {
+}
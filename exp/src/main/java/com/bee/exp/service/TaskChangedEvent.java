@@ -0,0 +1,37 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+
+/**
+ * Bir görevin marketplace'te görünen hali değiştiğinde yayınlanır.
+ * oldStatus null → yeni görev. taskId null → toplu değişiklik (ör. bulk import),
+ * dinleyenler her şeyi geçersiz saymalı. Şirket adı değişikliği için CompanyChangedEvent.
+ */
+public record TaskChangedEvent(Long taskId,
+                               Long companyId,
+                               TaskDifficulty difficulty,
+                               Integer price,
+                               TaskStatus oldStatus,
+                               TaskStatus newStatus) {
+
+    public static TaskChangedEvent of(Task task, TaskStatus oldStatus) {
+        return new TaskChangedEvent(
+                task.getId(),
+                task.getCompany() != null ? task.getCompany().getId() : null,
+                task.getDifficulty(),
+                task.getPrice(),
+                oldStatus,
+                task.getStatus()
+        );
+    }
+
+    public static TaskChangedEvent all() {
+        return new TaskChangedEvent(null, null, null, null, null, null);
+    }
+
+    public boolean isBulk() {
+        return taskId == null;
+    }
+}
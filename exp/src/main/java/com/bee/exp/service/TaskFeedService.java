@@ -0,0 +1,317 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.SubmissionFeatureView;
+import com.bee.exp.repository.TaskFeatureView;
+import com.bee.exp.repository.TaskRepository;
+import com.bee.exp.repository.TaskSubmissionRepository;
+import com.bee.exp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Engineer'a özel görev akışı (GET /api/tasks/feed).
+ * - Görev index'i: PUBLISHED görevlerin skor alanları bellekte; TaskChangedEvent ile artımlı güncellenir,
+ *   toplu değişiklikte ve periyodik olarak DB'den yeniden kurulur (StatsService ile aynı model).
+ * - Engineer profili (xp, geçmiş zorluk dağılımı, şirket bazında submission sayısı, üzerinde çalıştığı
+ *   görevler) ilk istekte iki küçük sorguyla yüklenir, sonra olaylarla güncellenir.
+ * - Skor: zorluk uyumu (level + geçmiş), fiyat, şirket yakınlığı. Sıralama tam sort değil, k = offset + limit + 1
+ *   boyutlu min-heap ile (O(n log k)); DB'ye sadece sayfadaki görevler için tek sorgu gider.
+ * Engineer'ın zaten claim ettiği görevler akışta yer almaz (onlar "görevlerim" listesinde).
+ */
+@Slf4j
+@Service
+public class TaskFeedService {
+
+    // Skor ağırlıkları; toplamı 1
+    private static final double DIFFICULTY_WEIGHT = 0.5;
+    private static final double PRICE_WEIGHT = 0.3;
+    private static final double COMPANY_WEIGHT = 0.2;
+
+    // Geçmişin level'a göre ağırlığı: n / (n + HISTORY_PRIOR); az submission'da level baskın
+    private static final double HISTORY_PRIOR = 5.0;
+
+    private static final int MAX_DIFFICULTY = TaskDifficulty.values().length - 1;
+
+    // Çok derin sayfalar heap'i büyütmesin
+    public static final int MAX_FEED_DEPTH = 1000;
+
+    private record TaskFeature(long id, TaskDifficulty difficulty, int price, Long companyId) {
+    }
+
+    /**
+     * Değiştirilemez; olaylar yeni kopya üretir (bir engineer'ın geçmişi küçük).
+     * difficultyCounts[ordinal], companyCounts: şirket → submission sayısı.
+     */
+    private record Profile(int xp, int[] difficultyCounts, Map<Long, Integer> companyCounts, Set<Long> taskIds) {
+
+        int total() {
+            int n = 0;
+            for (int c : difficultyCounts) {
+                n += c;
+            }
+            return n;
+        }
+
+        Profile withTask(Long taskId, TaskDifficulty difficulty, Long companyId) {
+            if (taskIds.contains(taskId)) {
+                return this;
+            }
+            int[] counts = difficultyCounts.clone();
+            if (difficulty != null) {
+                counts[difficulty.ordinal()]++;
+            }
+            Map<Long, Integer> companies = new HashMap<>(companyCounts);
+            if (companyId != null) {
+                companies.merge(companyId, 1, Integer::sum);
+            }
+            Set<Long> tasks = new HashSet<>(taskIds);
+            tasks.add(taskId);
+            return new Profile(xp, counts, companies, tasks);
+        }
+
+        Profile withXp(int amount) {
+            return new Profile(xp + amount, difficultyCounts, companyCounts, taskIds);
+        }
+    }
+
+    private record Scored(long id, double score) {
+    }
+
+    // En kötü aday başta (min-heap); eşit skorda yeni görev (büyük id) önde
+    private static final Comparator<Scored> WORST_FIRST =
+            Comparator.comparingDouble(Scored::score).thenComparingLong(Scored::id);
+
+    private final TaskRepository taskRepository;
+    private final TaskSubmissionRepository taskSubmissionRepository;
+    private final UserRepository userRepository;
+    private final Cache<Long, Profile> profiles;
+
+    private volatile Map<Long, TaskFeature> tasks = new ConcurrentHashMap<>();
+    private volatile int maxPrice;
+    private volatile boolean dirty;
+
+    public TaskFeedService(
+            TaskRepository taskRepository,
+            TaskSubmissionRepository taskSubmissionRepository,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.feed.profile-cache-size:50000}") long profileCacheSize,
+            @Value("${app.feed.profile-ttl:PT30M}") Duration profileTtl
+    ) {
+        this.taskRepository = taskRepository;
+        this.taskSubmissionRepository = taskSubmissionRepository;
+        this.userRepository = userRepository;
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(profileCacheSize)
+                .expireAfterAccess(profileTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "taskFeedProfiles");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.feed.rebuild-interval:PT10M}",
+            initialDelayString = "${app.feed.rebuild-interval:PT10M}")
+    public void rebuild() {
+        dirty = false;
+        Map<Long, TaskFeature> fresh = new ConcurrentHashMap<>();
+        int max = 0;
+        for (TaskFeatureView v : taskRepository.findFeaturesByStatus(TaskStatus.PUBLISHED)) {
+            TaskFeature f = new TaskFeature(v.getId(), v.getDifficulty(),
+                    v.getPrice() != null ? v.getPrice() : 0, v.getCompanyId());
+            fresh.put(f.id(), f);
+            max = Math.max(max, f.price());
+        }
+        maxPrice = max;
+        tasks = fresh;
+        log.debug("Task feed index rebuilt: {} published tasks", fresh.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.feed.dirty-check-interval:PT10S}")
+    public void rebuildIfDirty() {
+        if (dirty) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.isBulk()) {
+            dirty = true;
+            return;
+        }
+        if (event.newStatus() == TaskStatus.PUBLISHED) {
+            int price = event.price() != null ? event.price() : 0;
+            tasks.put(event.taskId(), new TaskFeature(event.taskId(), event.difficulty(), price, event.companyId()));
+            if (price > maxPrice) {
+                maxPrice = price;
+            }
+        } else {
+            tasks.remove(event.taskId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionChanged(SubmissionChangedEvent event) {
+        // Sadece yeni claim profili değiştirir; sonraki durum geçişleri aynı görev
+        if (event.oldStatus() != null || event.newStatus() != SubmissionStatus.CLAIMED) {
+            return;
+        }
+        TaskFeature f = tasks.get(event.taskId());
+        TaskDifficulty difficulty = f != null ? f.difficulty() : null;
+        profiles.asMap().computeIfPresent(event.engineerId(),
+                (id, p) -> p.withTask(event.taskId(), difficulty, event.companyId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onXpGranted(XpGrantedEvent event) {
+        if (event.userId() != null && event.amount() != 0) {
+            profiles.asMap().computeIfPresent(event.userId(), (id, p) -> p.withXp(event.amount()));
+        }
+    }
+
+    /**
+     * Engineer için skor sırasıyla görevler, offset'ten itibaren.
+     * Bir sonraki sayfa olup olmadığı anlaşılsın diye limit + 1 kayıt döner.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> feed(User currentUser, int offset, int limit) {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+        if (currentUser.getRole() != Role.ENGINEER) {
+            throw new RuntimeException("Forbidden");
+        }
+        if (offset >= MAX_FEED_DEPTH) {
+            return List.of();
+        }
+
+        List<Long> ids = rankedIds(profile(currentUser.getId()), offset, Math.min(limit + 1, MAX_FEED_DEPTH - offset));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // findByIdIn sırayı korumaz; skor sırasına geri diz. Index'ten sonra yayından kalkan atlanır
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task t : taskRepository.findByIdIn(ids)) {
+            byId.put(t.getId(), t);
+        }
+        List<Task> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Task t = byId.get(id);
+            if (t != null && t.getStatus() == TaskStatus.PUBLISHED) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
+    private List<Long> rankedIds(Profile profile, int offset, int count) {
+        int k = offset + count;
+        double target = targetDifficulty(profile);
+        double priceNorm = Math.log1p(Math.max(1, maxPrice));
+        double history = profile.total() + 1.0;
+
+        PriorityQueue<Scored> heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+        for (TaskFeature f : tasks.values()) {
+            if (profile.taskIds().contains(f.id())) {
+                continue;
+            }
+            double fit = f.difficulty() != null
+                    ? 1.0 - Math.abs(f.difficulty().ordinal() - target) / MAX_DIFFICULTY
+                    : 0.5;
+            double price = f.price() > 0 ? Math.log1p(f.price()) / priceNorm : 0.0;
+            double company = f.companyId() != null
+                    ? profile.companyCounts().getOrDefault(f.companyId(), 0) / history
+                    : 0.0;
+            Scored s = new Scored(f.id(), DIFFICULTY_WEIGHT * fit + PRICE_WEIGHT * price + COMPANY_WEIGHT * company);
+
+            if (heap.size() < k) {
+                heap.add(s);
+            } else if (WORST_FIRST.compare(s, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(s);
+            }
+        }
+
+        // Heap'ten en kötüden iyiye çıkar, sondan doldur
+        int n = heap.size();
+        Long[] ordered = new Long[n];
+        for (int i = n - 1; i >= 0; i--) {
+            ordered[i] = heap.poll().id();
+        }
+        List<Long> page = new ArrayList<>(count);
+        for (int i = offset; i < n; i++) {
+            page.add(ordered[i]);
+        }
+        return page;
+    }
+
+    /**
+     * 0 (EASY) .. MAX_DIFFICULTY (HARD) arasında hedef zorluk: level'dan doğrusal,
+     * geçmiş submission'ların ortalama zorluğu ile harmanlanır.
+     */
+    private static double targetDifficulty(Profile profile) {
+        int level = XpService.calcLevel(profile.xp());
+        double fromLevel = (level - 1) * (double) MAX_DIFFICULTY / 3;
+
+        int total = profile.total();
+        if (total == 0) {
+            return fromLevel;
+        }
+        double sum = 0;
+        for (int i = 0; i < profile.difficultyCounts().length; i++) {
+            sum += i * profile.difficultyCounts()[i];
+        }
+        double weight = total / (total + HISTORY_PRIOR);
+        return (1 - weight) * fromLevel + weight * (sum / total);
+    }
+
+    private Profile profile(Long userId) {
+        return profiles.get(userId, this::loadProfile);
+    }
+
+    private Profile loadProfile(Long userId) {
+        int xp = userRepository.findXpById(userId).orElse(0);
+        int[] counts = new int[MAX_DIFFICULTY + 1];
+        Map<Long, Integer> companies = new HashMap<>();
+        Set<Long> taskIds = new HashSet<>();
+        for (SubmissionFeatureView v : taskSubmissionRepository.findFeaturesByEngineerId(userId)) {
+            taskIds.add(v.getTaskId());
+            if (v.getDifficulty() != null) {
+                counts[v.getDifficulty().ordinal()]++;
+            }
+            if (v.getCompanyId() != null) {
+                companies.merge(v.getCompanyId(), 1, Integer::sum);
+            }
+        }
+        return new Profile(xp, counts, companies, taskIds);
+    }
+}
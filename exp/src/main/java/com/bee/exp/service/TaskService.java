@@ -1,36 +1,64 @@
 package com.bee.exp.service;
 
 import com.bee.exp.domain.Company;
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.SubmissionStatus;
 import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
 import com.bee.exp.domain.TaskStatus;
 import com.bee.exp.domain.TaskSubmission;
 import com.bee.exp.domain.User;
+import com.bee.exp.repository.ChangeStamp;
 import com.bee.exp.repository.CompanyRepository;
+import com.bee.exp.repository.SubmissionExportRow;
+import com.bee.exp.repository.TaskExportRow;
 import com.bee.exp.repository.TaskRepository;
 import com.bee.exp.repository.TaskSubmissionRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    // hibernate.jdbc.batch_size'ın katı olsun
+    private static final int IMPORT_FLUSH_SIZE = 500;
+
+    private static final Pattern SEARCH_TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MAX_SEARCH_TERMS = 8;
+
     private final TaskRepository taskRepository;
     private final TaskSubmissionRepository taskSubmissionRepository;
     private final CompanyRepository companyRepository;
-    private final XpService xpService; // sende adı farklıysa uyarlarsın
+    private final OutboxService outboxService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * JUNIOR / ENGINEER:
      * - Tüm PUBLISHED görevler (marketplace)
      * - + Bu junior'un üzerinde çalıştığı görevler (TaskSubmission üzerinden)
      */
+    @Transactional(readOnly = true)
     public List<Task> listTasksForEngineer(User currentUser) {
         if (currentUser == null) {
             throw new RuntimeException("Unauthenticated");
@@ -65,6 +93,7 @@ public class TaskService {
      * COMPANY:
      * Bu kullanıcının sahibi olduğu şirketin görevleri.
      */
+    @Transactional(readOnly = true)
     public List<Task> listTasksForCompany(User currentUser) {
         if (currentUser == null) {
             throw new RuntimeException("Unauthenticated");
@@ -75,10 +104,146 @@ public class TaskService {
                 .orElse(List.of());
     }
 
+    /**
+     * COMPANY:
+     * Şirketin tüm görevleri, ardından tüm submission'ları; satırlar DB'den geldikçe sink'lere verilir.
+     * Postgres sürücüsü fetch size'ı sadece transaction içinde uyguladığı için yazma da bu metodun
+     * içinde biter. Şirketi olmayan kullanıcı için hiçbir satır yoktur.
+     */
+    @Transactional(readOnly = true)
+    public void exportCompany(User currentUser,
+                              Consumer<TaskExportRow> taskSink,
+                              Consumer<SubmissionExportRow> submissionSink) {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+
+        Long companyId = companyRepository.findByOwner(currentUser).map(Company::getId).orElse(null);
+        if (companyId == null) {
+            return;
+        }
+        try (Stream<TaskExportRow> rows = taskRepository.streamExportByCompanyId(companyId)) {
+            rows.forEach(taskSink);
+        }
+        try (Stream<SubmissionExportRow> rows = taskSubmissionRepository.streamExportByCompanyId(companyId)) {
+            rows.forEach(submissionSink);
+        }
+    }
+
+    /**
+     * JUNIOR / ENGINEER:
+     * Bu junior'un submission'ı olan görevler (durumlarından bağımsız).
+     */
+    @Transactional(readOnly = true)
+    public List<Task> listSubmittedTasks(User currentUser) {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (TaskSubmission sub : taskSubmissionRepository.findByEngineer(currentUser)) {
+            if (sub.getTask() != null) {
+                tasks.add(sub.getTask());
+            }
+        }
+        return tasks;
+    }
+
+    // Koşullu GET için listeleme özeti (entity yüklemeden)
+    @Transactional(readOnly = true)
+    public ChangeStamp listingStamp(TaskStatus status) {
+        return taskRepository.findStampByStatus(status);
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeStamp submissionStamp(User engineer) {
+        return taskSubmissionRepository.findStampByEngineerId(engineer.getId());
+    }
+
+    @Transactional(readOnly = true)
     public List<Task> listPublishedTasks() {
         return taskRepository.findByStatus(TaskStatus.PUBLISHED);
     }
 
+    // Sayfasız marketplace listesi; zorluk filtresi SQL'de
+    @Transactional(readOnly = true)
+    public List<Task> listPublishedTasks(TaskDifficulty difficulty) {
+        if (difficulty == null) {
+            return listPublishedTasks();
+        }
+        return taskRepository.findByStatusAndDifficulty(TaskStatus.PUBLISHED, difficulty);
+    }
+
+    /**
+     * Marketplace sayfası (keyset / cursor).
+     * - status verilmezse PUBLISHED
+     * - afterId: bir önceki sayfanın son task id'si (ilk sayfa için null)
+     * - limit + 1 kayıt çekilir; fazlası varsa bir sonraki sayfa var demektir.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> listTasksPage(TaskStatus status,
+                                    TaskDifficulty difficulty,
+                                    Integer minPrice,
+                                    Integer maxPrice,
+                                    Long companyId,
+                                    Long afterId,
+                                    int limit) {
+        return taskRepository.findPage(
+                status != null ? status : TaskStatus.PUBLISHED,
+                difficulty, minPrice, maxPrice, companyId, afterId,
+                limit + 1
+        );
+    }
+
+    /**
+     * Başlık + açıklamada tam metin arama. Her kelime önek olarak eşleşir ("reac" → "react"),
+     * tüm kelimeler bulunmalı. Sıra ts_rank (başlık eşleşmesi daha ağır), eşitlikte en yeni görev.
+     * Bir sonraki sayfa olup olmadığı anlaşılsın diye limit + 1 kayıt döner.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> searchTasks(String text, TaskStatus status, int offset, int limit) {
+        String query = toPrefixTsQuery(text);
+        if (query == null) {
+            return List.of();
+        }
+
+        List<Long> ids = taskRepository.searchIds(
+                (status != null ? status : TaskStatus.PUBLISHED).name(), query, limit + 1, offset);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // findByIdIn sırayı korumaz; rank sırasına geri diz
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task t : taskRepository.findByIdIn(ids)) {
+            byId.put(t.getId(), t);
+        }
+        List<Task> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Task t = byId.get(id);
+            if (t != null) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
+    // Kullanıcı girdisinden güvenli tsquery: sadece harf/rakam dizileri, "&" ile bağlanır, hepsi önek (:*)
+    private static String toPrefixTsQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        Matcher m = SEARCH_TERM.matcher(text);
+        int terms = 0;
+        while (m.find() && terms < MAX_SEARCH_TERMS) {
+            if (terms++ > 0) {
+                sb.append(" & ");
+            }
+            sb.append(m.group()).append(":*");
+        }
+        return terms == 0 ? null : sb.toString();
+    }
+
     /**
      * COMPANY:
      * Yeni task oluşturma.
@@ -87,8 +252,61 @@ public class TaskService {
         if (currentUser == null) {
             throw new RuntimeException("Unauthenticated");
         }
-    
-        Company company = companyRepository
+
+        task.setCompany(companyFor(currentUser));
+        task.setStatus(TaskStatus.PUBLISHED);
+        task.setCreatedAt(Instant.now());
+        task.setUpdatedAt(Instant.now());
+
+        Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(saved, null));
+        return saved;
+    }
+
+    /**
+     * COMPANY:
+     * Toplu görev yükleme. Görevler iterator'dan tek tek okunur (tamamı bellekte tutulmaz),
+     * JDBC batch'leri ile insert edilir; her IMPORT_FLUSH_SIZE kayıtta persistence context
+     * flush + clear edilir. Tek transaction: hata olursa hiçbiri kaydedilmez.
+     * Kaydedilen görev sayısını döner.
+     */
+    @Transactional
+    public int importTasks(Iterator<Task> tasks, User currentUser) {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+
+        Long companyId = companyFor(currentUser).getId();
+        Company company = entityManager.getReference(Company.class, companyId);
+        Instant now = Instant.now();
+        int count = 0;
+
+        while (tasks.hasNext()) {
+            Task task = tasks.next();
+            task.setCompany(company);
+            task.setStatus(TaskStatus.PUBLISHED);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            entityManager.persist(task);
+
+            if (++count % IMPORT_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                company = entityManager.getReference(Company.class, companyId);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        if (count > 0) {
+            eventPublisher.publishEvent(TaskChangedEvent.all());
+        }
+        return count;
+    }
+
+    // Kullanıcının şirketi; yoksa otomatik yaratılır
+    private Company companyFor(User currentUser) {
+        return companyRepository
                 .findByOwner(currentUser)
                 .orElseGet(() -> {
                     // Otomatik company yarat
@@ -102,15 +320,7 @@ public class TaskService {
                     c.setDescription("Auto-created company profile for " + defaultName);
                     return companyRepository.save(c);
                 });
-    
-        task.setCompany(company);
-        task.setStatus(TaskStatus.PUBLISHED);
-        task.setCreatedAt(Instant.now());
-        task.setUpdatedAt(Instant.now());
-    
-        return taskRepository.save(task);
     }
-    
 
     /**
      * JUNIOR:
@@ -118,11 +328,12 @@ public class TaskService {
      * - Task üzerinde herhangi bir kilit / status değişikliği yapmıyoruz
      * - Sadece TaskSubmission ile (task, engineer) ilişkisini kuruyoruz.
      */
+    @Transactional
     public Task claimTask(Long taskId, User currentUser) {
         // 🔴 GEÇİCİ OLARAK currentUser zorunluluğunu kaldırıyoruz
         if (currentUser == null) {
             // Burada şimdilik exception atma, sadece log yaz:
-            System.out.println("[WARN] claimTask: currentUser is null, demo modunda çalışıyor.");
+            log.warn("claimTask: currentUser is null, demo modunda çalışıyor (taskId={})", taskId);
             // İleride JWT / Security bağlandığında burayı tekrar sıkılaştıracağız.
         }
     
@@ -133,16 +344,11 @@ public class TaskService {
         // Sadece TaskSubmission oluşturuyoruz
     
         if (currentUser != null) {
-            taskSubmissionRepository.findByTaskAndEngineer(task, currentUser)
-                    .orElseGet(() -> {
-                        TaskSubmission s = TaskSubmission.builder()
-                                .task(task)
-                                .engineer(currentUser)
-                                .notes(null)
-                                .attachmentUrl(null)
-                                .build();
-                        return taskSubmissionRepository.save(s);
-                    });
+            // Varsa dokunmaz: tekrar eden claim ucuz bir no-op
+            if (taskSubmissionRepository.insertClaimIfAbsent(task.getId(), currentUser.getId(), Instant.now()) > 0) {
+                eventPublisher.publishEvent(new SubmissionChangedEvent(
+                        null, task.getId(), companyIdOf(task), currentUser.getId(), null, SubmissionStatus.CLAIMED));
+            }
         }
     
         // Task üzerinde herhangi bir değişiklik yok
@@ -154,6 +360,7 @@ public class TaskService {
      * Görevi yaptıktan sonra log / config / link ile SUBMIT eder.
      * Her junior için aynı task'tan ayrı bir submission tutulur.
      */
+    @Transactional
     public TaskSubmission submitTask(Long taskId,
                                      User currentUser,
                                      String notes,
@@ -165,28 +372,37 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
-        // Önce claim sırasında yaratılmış bir submission var mı bak
-        TaskSubmission submission = taskSubmissionRepository
-                .findByTaskAndEngineer(task, currentUser)
-                .orElseGet(() -> TaskSubmission.builder()
-                        .task(task)
-                        .engineer(currentUser)
-                        .build()
-                );
-
-        submission.setNotes(notes);
-        submission.setAttachmentUrl(attachmentUrl);
-        // createdAt alanı varsa entity içinde @PrePersist ile set edebilirsin
+        // Claim edilmemişse önce claim satırını oluştur, sonra tek UPDATE ile submit et
+        Instant now = Instant.now();
+        SubmissionStatus oldStatus;
+        if (taskSubmissionRepository.insertClaimIfAbsent(task.getId(), currentUser.getId(), now) > 0) {
+            eventPublisher.publishEvent(new SubmissionChangedEvent(
+                    null, task.getId(), companyIdOf(task), currentUser.getId(), null, SubmissionStatus.CLAIMED));
+            oldStatus = SubmissionStatus.CLAIMED;
+        } else {
+            // Satır zaten vardı; sayaçlar için önceki durumu öğren (tek kolon, unique index üzerinden)
+            oldStatus = taskSubmissionRepository.findStatus(task.getId(), currentUser.getId()).orElse(null);
+        }
+        int updated = taskSubmissionRepository.updateSubmission(
+                task.getId(), currentUser.getId(), notes, attachmentUrl, now);
+        if (updated == 0) {
+            throw new RuntimeException("Submission already approved");
+        }
 
-        return taskSubmissionRepository.save(submission);
+        TaskSubmission submission = taskSubmissionRepository.findByTaskAndEngineer(task, currentUser)
+                .orElseThrow(() -> new RuntimeException("Submission not found"));
+        eventPublisher.publishEvent(new SubmissionChangedEvent(
+                submission.getId(), task.getId(), companyIdOf(task), currentUser.getId(),
+                oldStatus, SubmissionStatus.SUBMITTED));
+        return submission;
     }
 
     /**
      * MENTOR / COMPANY:
-     * Şimdilik eski modeldeki gibi Task bazlı approve bırakıyorum.
-     * Multi-junior için ideal olan, submission bazlı approve (submissionId ile)
-     * ama onu ayrı bir adımda tasarlayalım istersen.
+     * Task bazlı approve: görevin onay bekleyen (SUBMITTED) tüm submission'larını
+     * toplu onaylar (XP dahil) ve görevi COMPLETED yapar.
      */
+    @Transactional
     public Task approveTask(Long taskId, User currentUser) {
         if (currentUser == null) {
             throw new RuntimeException("Unauthenticated");
@@ -194,15 +410,129 @@ public class TaskService {
 
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        checkCanReview(task, currentUser);
+
+        List<Long> pending = taskSubmissionRepository.findIdsByTaskAndStatus(task, SubmissionStatus.SUBMITTED);
+        approveSubmissions(pending, currentUser);
 
-        // Burayı multi-junior senaryoya göre yeniden tasarlamak mantıklı,
-        // şimdilik sadece task'i COMPLETED yapıyoruz.
+        TaskStatus oldStatus = task.getStatus();
         task.setStatus(TaskStatus.COMPLETED);
         task.setUpdatedAt(Instant.now());
-        taskRepository.save(task);
+        Task saved = taskRepository.save(task);
 
-        // XP atama mantığını ileride submission bazlı hale getirelim.
-        return task;
+        eventPublisher.publishEvent(TaskChangedEvent.of(saved, oldStatus));
+        return saved;
+    }
+
+    /**
+     * MENTOR / COMPANY:
+     * Tek bir submission'ı onaylar.
+     */
+    @Transactional
+    public TaskSubmission approveSubmission(Long submissionId, User currentUser) {
+        List<TaskSubmission> approved = approveSubmissions(List.of(submissionId), currentUser);
+        if (approved.isEmpty()) {
+            throw new RuntimeException("Submission not found or not awaiting approval");
+        }
+        return approved.get(0);
+    }
+
+    /**
+     * MENTOR / COMPANY:
+     * Toplu onay, tek transaction:
+     * - submission'lar görev / şirket / engineer ile tek sorguda yüklenir
+     * - SUBMITTED olanlar tek bir UPDATE ile APPROVED yapılır
+     * - XP ve diğer onay yan etkileri için aynı transaction'da outbox'a SUBMISSION_APPROVED yazılır;
+     *   commit sonrası OutboxDispatcher işler (onay süresi yan etki sayısıyla büyümez)
+     * Bulunamayan ya da onay beklemeyen id'ler atlanır; sadece onaylananlar döner.
+     */
+    @Transactional
+    public List<TaskSubmission> approveSubmissions(Collection<Long> submissionIds, User currentUser) {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+        if (submissionIds == null || submissionIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<TaskSubmission> approvable = new ArrayList<>();
+        for (TaskSubmission s : taskSubmissionRepository.findByIdIn(submissionIds)) {
+            checkCanReview(s.getTask(), currentUser);
+            if (s.getStatus() == SubmissionStatus.SUBMITTED) {
+                approvable.add(s);
+            }
+        }
+        if (approvable.isEmpty()) {
+            return List.of();
+        }
+
+        Instant now = Instant.now();
+        List<Long> ids = approvable.stream().map(TaskSubmission::getId).toList();
+        int updated = taskSubmissionRepository.updateStatus(ids, SubmissionStatus.SUBMITTED, SubmissionStatus.APPROVED, now);
+        if (updated != ids.size()) {
+            // Arada başka bir istek bu submission'lardan birini değiştirdi → hepsini geri al
+            throw new RuntimeException("Submissions changed concurrently, please retry");
+        }
+
+        for (TaskSubmission s : approvable) {
+            s.setStatus(SubmissionStatus.APPROVED);
+            s.setReviewedAt(now);
+
+            Task task = s.getTask();
+            eventPublisher.publishEvent(new SubmissionChangedEvent(
+                    s.getId(), task.getId(), companyIdOf(task), s.getEngineer().getId(),
+                    SubmissionStatus.SUBMITTED, SubmissionStatus.APPROVED));
+            outboxService.append(SubmissionApproved.AGGREGATE, s.getId(), SubmissionApproved.TYPE,
+                    new SubmissionApproved(s.getId(), task.getId(), companyIdOf(task), s.getEngineer().getId(),
+                            task.getDifficulty()));
+        }
+
+        return approvable;
+    }
+
+    /**
+     * MENTOR / COMPANY:
+     * Submission'ı reddeder (XP verilmez).
+     */
+    @Transactional
+    public TaskSubmission rejectSubmission(Long submissionId, User currentUser) {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+
+        TaskSubmission s = taskSubmissionRepository.findByIdIn(List.of(submissionId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Submission not found"));
+        checkCanReview(s.getTask(), currentUser);
+
+        if (s.getStatus() != SubmissionStatus.SUBMITTED) {
+            throw new RuntimeException("Submission is not awaiting approval");
+        }
+        s.setStatus(SubmissionStatus.REJECTED);
+        s.setReviewedAt(Instant.now());
+        TaskSubmission saved = taskSubmissionRepository.save(s);
+
+        eventPublisher.publishEvent(new SubmissionChangedEvent(
+                saved.getId(), s.getTask().getId(), companyIdOf(s.getTask()), s.getEngineer().getId(),
+                SubmissionStatus.SUBMITTED, SubmissionStatus.REJECTED));
+        return saved;
+    }
+
+    // LAZY proxy'den id okumak ek sorgu atmaz
+    private static Long companyIdOf(Task task) {
+        return task.getCompany() != null ? task.getCompany().getId() : null;
+    }
+
+    // Sadece görevin şirket sahibi (veya ADMIN) onay / red verebilir
+    private void checkCanReview(Task task, User currentUser) {
+        if (currentUser.getRole() == Role.ADMIN) {
+            return;
+        }
+        Company company = task.getCompany();
+        if (company == null || company.getOwner() == null
+                || !company.getOwner().getId().equals(currentUser.getId())) {
+            throw new RuntimeException("Forbidden");
+        }
     }
 
     public Task completeTask(Long taskId, User currentUser) {
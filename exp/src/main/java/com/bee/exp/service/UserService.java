@@ -3,33 +3,47 @@ package com.bee.exp.service;
 import com.bee.exp.domain.Role;
 import com.bee.exp.domain.User;
 import com.bee.exp.repository.UserRepository;
+import com.bee.exp.security.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
-    public User registerUser(String email, String password, String fullName, Role role) {
+    /**
+     * Şifre hash'i request thread'inde değil, PasswordHashingService executor'unda hesaplanır.
+     */
+    public CompletableFuture<User> registerUser(String email, String password, String fullName, Role role) {
         if (userRepository.findByEmail(email).isPresent()) {
             throw new RuntimeException("Email already in use");
         }
-        User user = User.builder()
-                .email(email)
-                .passwordHash(passwordEncoder.encode(password))
-                .fullName(fullName)
-                .role(role)
-                .xp(0)
-                .level(1)
-                .createdAt(Instant.now())
-                .updatedAt(Instant.now())
-                .build();
-        return userRepository.save(user);
+        return passwordHashingService.encode(password)
+                .thenApply(hash -> userRepository.save(User.builder()
+                        .email(email)
+                        .passwordHash(hash)
+                        .fullName(fullName)
+                        .role(role)
+                        .xp(0)
+                        .level(1)
+                        .createdAt(Instant.now())
+                        .updatedAt(Instant.now())
+                        .build()));
+    }
+
+    /**
+     * Login sırasında cost değişmişse eski hash'i yenisiyle değiştirir.
+     * Arada şifre değiştiyse (hash artık oldHash değilse) dokunmaz.
+     */
+    @Transactional
+    public void replacePasswordHash(Long userId, String oldHash, String newHash) {
+        userRepository.updatePasswordHash(userId, oldHash, newHash, Instant.now());
     }
 }
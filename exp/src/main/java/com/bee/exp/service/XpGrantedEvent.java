@@ -0,0 +1,13 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.TaskDifficulty;
+
+/**
+ * XpService.grantXp başarıyla ledger'a yazdığında yayınlanır.
+ * companyId / difficulty XP bir görevden gelmediyse null olabilir.
+ */
+public record XpGrantedEvent(Long userId,
+                             int amount,
+                             Long companyId,
+                             TaskDifficulty difficulty) {
+}
@@ -0,0 +1,45 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Onaylanan submission'lar için XP. Tüm batch tek grantXpAll çağrısı: ledger insert'leri
+ * batch'lenir, engineer başına tek UPDATE. XpGrantedEvent'ler (leaderboard, stats sayaçları)
+ * dispatcher transaction'ı commit olunca dinleyicilere ulaşır.
+ */
+@Component
+@RequiredArgsConstructor
+public class XpOutboxHandler implements OutboxHandler {
+
+    private final XpService xpService;
+    private final OutboxService outboxService;
+
+    @Override
+    public String eventType() {
+        return SubmissionApproved.TYPE;
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        List<XpService.XpGrant> grants = new ArrayList<>(events.size());
+        for (OutboxEvent e : events) {
+            SubmissionApproved approved = outboxService.payload(e, SubmissionApproved.class);
+            if (approved.difficulty() != null) {
+                grants.add(new XpService.XpGrant(
+                        approved.engineerId(),
+                        xpService.xpForDifficulty(approved.difficulty()),
+                        "TASK_APPROVED",
+                        approved.submissionId(),
+                        approved.companyId(),
+                        approved.difficulty()
+                ));
+            }
+        }
+        xpService.grantXpAll(grants);
+    }
+}
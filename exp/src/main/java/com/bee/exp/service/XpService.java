@@ -2,15 +2,45 @@ package com.bee.exp.service;
 
 import com.bee.exp.domain.TaskDifficulty;
 import com.bee.exp.domain.User;
+import com.bee.exp.domain.XpLedgerEntry;
 import com.bee.exp.repository.UserRepository;
+import com.bee.exp.repository.XpLedgerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class XpService {
 
+    // Level eşikleri: xp < 100 → 1, < 250 → 2, < 500 → 3, üstü → 4
+    private static final int LEVEL_2_XP = 100;
+    private static final int LEVEL_3_XP = 250;
+    private static final int LEVEL_4_XP = 500;
+
+    /**
+     * Tek bir XP hareketi. companyId / difficulty leaderboard kırılımları içindir,
+     * XP bir görevden gelmiyorsa null.
+     */
+    public record XpGrant(Long userId,
+                          int amount,
+                          String reason,
+                          Long submissionId,
+                          Long companyId,
+                          TaskDifficulty difficulty) {
+    }
+
     private final UserRepository userRepository;
+    private final XpLedgerRepository xpLedgerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public int xpForDifficulty(TaskDifficulty diff) {
         return switch (diff) {
@@ -20,17 +50,66 @@ public class XpService {
         };
     }
 
+    // Kendi transaction'ını açar: grantXp(XpGrant) çağrısı self-invocation olduğu için proxy'den geçmez
+    @Transactional
     public void grantXp(User user, int amount) {
-        int newXp = (user.getXp() == null ? 0 : user.getXp()) + amount;
-        user.setXp(newXp);
-        user.setLevel(calcLevel(newXp));
-        userRepository.save(user);
+        grantXp(new XpGrant(user.getId(), amount, null, null, null, null));
+    }
+
+    @Transactional
+    public void grantXp(XpGrant grant) {
+        grantXpAll(List.of(grant));
+    }
+
+    /**
+     * Her hareket için ledger'a bir satır ekler; users.xp / level'ı kullanıcı başına
+     * tek bir atomik UPDATE ile artırır (aynı kullanıcıya giden hareketler toplanır).
+     * User entity'si okunmaz / tamamen yeniden yazılmaz; eşzamanlı onaylarda XP kaybolmaz.
+     * Not: çağıranın elindeki User nesnesindeki xp / level bu çağrıdan sonra eski kalır.
+     */
+    @Transactional
+    public void grantXpAll(Collection<XpGrant> grants) {
+        List<XpLedgerEntry> entries = new ArrayList<>(grants.size());
+        Map<Long, Integer> totals = new LinkedHashMap<>();
+
+        for (XpGrant g : grants) {
+            if (g.userId() == null) {
+                throw new RuntimeException("User id is required");
+            }
+            entries.add(XpLedgerEntry.builder()
+                    .user(userRepository.getReferenceById(g.userId()))
+                    .amount(g.amount())
+                    .reason(g.reason())
+                    .submissionId(g.submissionId())
+                    .companyId(g.companyId())
+                    .difficulty(g.difficulty())
+                    .build());
+            totals.merge(g.userId(), g.amount(), Integer::sum);
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        xpLedgerRepository.saveAll(entries);
+
+        Instant now = Instant.now();
+        for (Map.Entry<Long, Integer> e : totals.entrySet()) {
+            int updated = userRepository.incrementXp(e.getKey(), e.getValue(), LEVEL_2_XP, LEVEL_3_XP, LEVEL_4_XP, now);
+            if (updated == 0) {
+                throw new RuntimeException("User not found");
+            }
+        }
+
+        // AuthUserCache bu olayla commit'ten sonra evict eder
+        for (XpGrant g : grants) {
+            eventPublisher.publishEvent(new XpGrantedEvent(g.userId(), g.amount(), g.companyId(), g.difficulty()));
+        }
     }
 
-    private int calcLevel(int xp) {
-        if (xp < 100) return 1;
-        if (xp < 250) return 2;
-        if (xp < 500) return 3;
+    public static int calcLevel(int xp) {
+        if (xp < LEVEL_2_XP) return 1;
+        if (xp < LEVEL_3_XP) return 2;
+        if (xp < LEVEL_4_XP) return 3;
         return 4;
     }
 }
@@ -2,16 +2,27 @@ package com.bee.exp.web;
 
 import com.bee.exp.domain.User;
 import com.bee.exp.repository.UserRepository;
+import com.bee.exp.security.AuthRateLimiter;
 import com.bee.exp.security.JwtUtil;
+import com.bee.exp.security.PasswordHashingService;
 import com.bee.exp.service.UserService;
 import com.bee.exp.web.dto.AuthResponse;
 import com.bee.exp.web.dto.LoginRequest;
 import com.bee.exp.web.dto.RegisterRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * BCrypt işleri PasswordHashingService'in executor'unda çalışır; endpoint'ler
+ * CompletableFuture döndüğü için Tomcat thread'i beklerken serbest kalır.
+ * Kullanıcı sorgusu kendi kısa transaction'ında biter (open-in-view kapalı), BCrypt kuyruğunda
+ * beklerken DB bağlantısı tutulmaz.
+ */
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -21,37 +32,69 @@ public class AuthController {
     private final UserService userService;
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final AuthRateLimiter authRateLimiter;
+    private final MeterRegistry meterRegistry;
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest req) {
-        User user = userService.registerUser(req.getEmail(), req.getPassword(), req.getFullName(), req.getRole());
-        String token = jwtUtil.generateToken(user.getId(), user.getRole(), user.getEmail());
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@RequestBody RegisterRequest req,
+                                                                    HttpServletRequest http) {
+        authRateLimiter.check(http.getRemoteAddr(), req.getEmail());
 
-        AuthResponse resp = new AuthResponse();
-        resp.setToken(token);
-        resp.setUserId(user.getId());
-        resp.setRole(user.getRole());
-        resp.setFullName(user.getFullName());
-        return ResponseEntity.ok(resp);
+        return userService.registerUser(req.getEmail(), req.getPassword(), req.getFullName(), req.getRole())
+                .whenComplete((user, ex) -> countAttempt("register", ex == null ? "success" : "failure"))
+                .thenApply(user -> ResponseEntity.ok(toAuthResponse(user)));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest req) {
-        User user = userRepository.findByEmail(req.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody LoginRequest req,
+                                                                 HttpServletRequest http) {
+        authRateLimiter.check(http.getRemoteAddr(), req.getEmail());
+
+        User user = userRepository.findByEmail(req.getEmail()).orElse(null);
+        if (user == null) {
+            countAttempt("login", "user_missing");
+            throw new RuntimeException("User not found");
+        }
+
+        return passwordHashingService.matches(req.getPassword(), user.getPasswordHash())
+                .thenApply(ok -> {
+                    if (!ok) {
+                        countAttempt("login", "invalid_credentials");
+                        throw new RuntimeException("Invalid credentials");
+                    }
+                    countAttempt("login", "success");
+                    rehashIfNeeded(user, req.getPassword());
+                    return ResponseEntity.ok(toAuthResponse(user));
+                });
+    }
 
-        if (!passwordEncoder.matches(req.getPassword(), user.getPasswordHash())) {
-            throw new RuntimeException("Invalid credentials");
+    // Cost faktörü artırıldıysa hash'i arka planda yenile; login cevabını bekletmez
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            passwordHashingService.encode(rawPassword)
+                    .thenAccept(newHash -> userService.replacePasswordHash(user.getId(), user.getPasswordHash(), newHash));
+        } catch (RuntimeException ignored) {
+            // Executor doluysa bir sonraki login'de tekrar denenir
         }
+    }
+
+    // Süre ve durum kodu http.server.requests'te; burada sadece iş sonucunu sayıyoruz
+    private void countAttempt(String action, String outcome) {
+        meterRegistry.counter("auth.attempts", "action", action, "outcome", outcome).increment();
+    }
 
-        String token = jwtUtil.generateToken(user.getId(), user.getRole(), user.getEmail());
+    private AuthResponse toAuthResponse(User user) {
+        String token = jwtUtil.generateToken(user.getId(), user.getRole(), user.getEmail(), user.getFullName());
 
         AuthResponse resp = new AuthResponse();
         resp.setToken(token);
         resp.setUserId(user.getId());
         resp.setRole(user.getRole());
         resp.setFullName(user.getFullName());
-        return ResponseEntity.ok(resp);
+        return resp;
     }
 }
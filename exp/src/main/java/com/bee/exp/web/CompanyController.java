@@ -2,12 +2,18 @@ package com.bee.exp.web;
 
 import com.bee.exp.domain.Company;
 import com.bee.exp.domain.User;
+import com.bee.exp.repository.ChangeStamp;
 import com.bee.exp.repository.CompanyRepository;
+import com.bee.exp.service.CompanyChangedEvent;
 import com.bee.exp.web.dto.CompanyRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/companies")
@@ -16,9 +22,25 @@ import org.springframework.web.bind.annotation.*;
 public class CompanyController {
 
     private final CompanyRepository companyRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @GetMapping("/me")
-    public ResponseEntity<Company> getMyCompany(@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<Company> getMyCompany(@AuthenticationPrincipal User currentUser, WebRequest webRequest) {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+
+        // Şirketi yüklemeden önce sadece zaman damgalarına bak; değişmemişse 304
+        ChangeStamp stamp = companyRepository.findStampByOwnerId(currentUser.getId());
+        if (stamp.getCount() == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ConditionalGet.etag(stamp.getLastModified(), stamp.getRelatedLastModified());
+        if (webRequest.checkNotModified(etag,
+                ConditionalGet.lastModified(stamp.getLastModified(), stamp.getRelatedLastModified()))) {
+            return null;
+        }
+
         return companyRepository.findByOwner(currentUser)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -31,8 +53,16 @@ public class CompanyController {
     ) {
         Company company = companyRepository.findByOwner(currentUser)
                 .orElse(Company.builder().owner(currentUser).build());
+        boolean existing = company.getId() != null;
+        String oldName = company.getName();
         company.setName(req.getName());
         company.setDescription(req.getDescription());
-        return ResponseEntity.ok(companyRepository.save(company));
+        Company saved = companyRepository.save(company);
+
+        // companyName cache'lenmiş görev listelerinde de var; yeni şirketin görevi yok, açıklama listelerde yok
+        if (existing && !Objects.equals(oldName, saved.getName())) {
+            eventPublisher.publishEvent(new CompanyChangedEvent(saved.getId(), oldName, saved.getName()));
+        }
+        return ResponseEntity.ok(saved);
     }
 }
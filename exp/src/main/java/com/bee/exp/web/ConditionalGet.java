@@ -0,0 +1,38 @@
+package com.bee.exp.web;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Koşullu GET (If-None-Match / If-Modified-Since) yardımcıları.
+ * ETag, verilen parçaların (sayı, zaman damgaları, kullanıcı vb.) MD5'i: aynı girdi → aynı strong ETag.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static String etag(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (Object p : parts) {
+            sb.append(p).append('|');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * En yeni zaman damgası (epoch millis), hiçbiri yoksa -1 (Last-Modified kullanılmaz).
+     * Sadece tek kaynak için (satır silinmiyor / kapsamdan çıkmıyor); listelerde ETag'e sayı da girmeli.
+     */
+    static long lastModified(Instant... instants) {
+        long max = -1;
+        for (Instant i : instants) {
+            if (i != null && i.toEpochMilli() > max) {
+                max = i.toEpochMilli();
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,83 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.UserRepository;
+import com.bee.exp.service.LeaderboardService;
+import com.bee.exp.service.LeaderboardService.LeaderboardEntry;
+import com.bee.exp.service.LeaderboardWindow;
+import com.bee.exp.web.dto.LeaderboardEntryResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class LeaderboardController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final LeaderboardService leaderboardService;
+    private final UserRepository userRepository;
+
+    /**
+     * Örn. /api/leaderboard?window=WEEK&companyId=3&limit=10
+     */
+    @GetMapping
+    public List<LeaderboardEntryResponse> top(
+            @RequestParam(name = "window", defaultValue = "ALL_TIME") LeaderboardWindow window,
+            @RequestParam(name = "companyId", required = false) Long companyId,
+            @RequestParam(name = "difficulty", required = false) TaskDifficulty difficulty,
+            @RequestParam(name = "offset", defaultValue = "0") int offset,
+            @RequestParam(name = "limit", defaultValue = "20") int limit
+    ) {
+        List<LeaderboardEntry> entries = leaderboardService.top(
+                window, companyId, difficulty, Math.max(0, offset), Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        // İsimler için tek sorgu
+        Map<Long, String> names = new HashMap<>();
+        for (User u : userRepository.findAllById(entries.stream().map(LeaderboardEntry::userId).toList())) {
+            names.put(u.getId(), u.getFullName());
+        }
+
+        List<LeaderboardEntryResponse> result = new ArrayList<>(entries.size());
+        for (LeaderboardEntry e : entries) {
+            result.add(toResponse(e, names.get(e.userId())));
+        }
+        return result;
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardEntryResponse> me(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(name = "window", defaultValue = "ALL_TIME") LeaderboardWindow window,
+            @RequestParam(name = "companyId", required = false) Long companyId,
+            @RequestParam(name = "difficulty", required = false) TaskDifficulty difficulty
+    ) {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+        LeaderboardEntry e = leaderboardService.rankOf(currentUser.getId(), window, companyId, difficulty);
+        if (e == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(toResponse(e, currentUser.getFullName()));
+    }
+
+    private LeaderboardEntryResponse toResponse(LeaderboardEntry e, String fullName) {
+        LeaderboardEntryResponse r = new LeaderboardEntryResponse();
+        r.setRank(e.rank());
+        r.setUserId(e.userId());
+        r.setFullName(fullName);
+        r.setXp(e.xp());
+        return r;
+    }
+}
@@ -0,0 +1,47 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.CompanyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * GET /api/tasks/events: polling yerine canlı olay akışı (text/event-stream).
+ * Kapsam token'dan belirlenir: COMPANY → kendi şirketi, ENGINEER → görevler + kendi submission'ları,
+ * anonim → sadece görev olayları (companyId ile daraltılabilir).
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class LiveEventController {
+
+    private final LiveEventHub liveEventHub;
+    private final CompanyRepository companyRepository;
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(name = "companyId", required = false) Long companyId
+    ) {
+        return liveEventHub.subscribe(filterFor(currentUser, companyId));
+    }
+
+    private LiveEventHub.Filter filterFor(User currentUser, Long companyId) {
+        if (currentUser != null && currentUser.getRole() == Role.COMPANY) {
+            // Kısa, kendi transaction'ında biten sorgu; emitter açık kaldığı sürece bağlantı tutulmaz
+            Long ownCompanyId = companyRepository.findIdByOwnerId(currentUser.getId()).orElse(null);
+            if (ownCompanyId != null) {
+                return new LiveEventHub.Filter(ownCompanyId, null, null);
+            }
+        }
+        if (currentUser != null && currentUser.getRole() == Role.ENGINEER) {
+            return new LiveEventHub.Filter(null, currentUser.getId(), null);
+        }
+        return new LiveEventHub.Filter(null, null, companyId);
+    }
+}
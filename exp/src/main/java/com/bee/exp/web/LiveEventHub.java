@@ -0,0 +1,264 @@
+package com.bee.exp.web;
+
+import com.bee.exp.service.CompanyChangedEvent;
+import com.bee.exp.service.SubmissionChangedEvent;
+import com.bee.exp.service.TaskChangedEvent;
+import com.bee.exp.web.dto.LiveEventResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canlı dashboard'lar için SSE yayını. Commit sonrası domain olayları eşleşen abonelere dağıtılır.
+ * - Her abonenin sabit boyutlu bir kuyruğu var; dolunca en eski olay atılır (yavaş istemci
+ *   ne yayıncıyı ne de diğer aboneleri bekletir). Atılan olay sayısı bir sonraki gönderimde bildirilir.
+ * - Gönderim ayrı, küçük bir executor'da ve abone başına tek seferde bir thread ile yapılır.
+ * - Heartbeat hem proxy'lerin bağlantıyı kapatmasını önler hem de kopmuş bağlantıları temizler.
+ */
+@Slf4j
+@Component
+public class LiveEventHub {
+
+    /**
+     * Abonenin göreceği olaylar.
+     * companyId doluysa o şirketin görev + submission olayları (şirket sahibi);
+     * engineerId doluysa tüm görev olayları + o engineer'ın submission olayları;
+     * ikisi de boşsa sadece görev olayları (marketplace), marketCompanyId ile daraltılabilir.
+     */
+    public record Filter(Long companyId, Long engineerId, Long marketCompanyId) {
+
+        boolean matches(LiveEventResponse e) {
+            if ("refresh".equals(e.getType())) {
+                return true;
+            }
+            boolean submission = e.getType().startsWith("submission.");
+            if (companyId != null) {
+                return companyId.equals(e.getCompanyId());
+            }
+            if (engineerId != null) {
+                return !submission || engineerId.equals(e.getEngineerId());
+            }
+            return !submission && (marketCompanyId == null || marketCompanyId.equals(e.getCompanyId()));
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Filter filter;
+        final ArrayDeque<Object> buffer = new ArrayDeque<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+        int dropped;
+
+        Subscriber(SseEmitter emitter, Filter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        void offer(Object item) {
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    dropped++;
+                    droppedCounter.increment();
+                }
+                buffer.addLast(item);
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    Object item;
+                    int lost;
+                    synchronized (buffer) {
+                        item = buffer.pollFirst();
+                        lost = dropped;
+                        dropped = 0;
+                    }
+                    if (item == null) {
+                        break;
+                    }
+                    if (lost > 0) {
+                        emitter.send(SseEmitter.event().name("dropped").data(lost));
+                    }
+                    if (item instanceof LiveEventResponse e) {
+                        emitter.send(SseEmitter.event().name(e.getType()).data(e));
+                    } else {
+                        emitter.send(SseEmitter.event().comment(item.toString()));
+                    }
+                }
+            } catch (Exception e) {
+                // İstemci gitti; tamamlanınca onCompletion aboneyi siler
+                remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // drain bittikten hemen sonra gelen olay kaçmasın
+            boolean pending;
+            synchronized (buffer) {
+                pending = !buffer.isEmpty();
+            }
+            if (pending && draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                }
+            }
+        }
+    }
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sender;
+    private final Counter droppedCounter;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    public LiveEventHub(
+            MeterRegistry meterRegistry,
+            @Value("${app.live-events.max-subscribers:10000}") int maxSubscribers,
+            @Value("${app.live-events.buffer-size:256}") int bufferSize,
+            @Value("${app.live-events.timeout:PT30M}") Duration timeout,
+            @Value("${app.live-events.sender-threads:4}") int senderThreads
+    ) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeout.toMillis();
+
+        AtomicInteger seq = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(
+                senderThreads, senderThreads,
+                0L, TimeUnit.MILLISECONDS,
+                // Abone başına en fazla bir bekleyen drain işi olduğu için kuyruk abone sayısıyla sınırlı
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "live-events-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        ExecutorServiceMetrics.monitor(meterRegistry, sender, "liveEvents");
+        meterRegistry.gauge("live.events.subscribers", subscribers, Set::size);
+        this.droppedCounter = Counter.builder("live.events.dropped")
+                .description("Events dropped because a subscriber buffer was full")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Filter filter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber s = new Subscriber(emitter, filter);
+        emitter.onCompletion(() -> remove(s));
+        emitter.onTimeout(() -> remove(s));
+        emitter.onError(e -> remove(s));
+        subscribers.add(s);
+
+        // İlk byte hemen gitsin (proxy'ler ve istemci bağlantının açıldığını görsün)
+        s.offer("connected");
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        LiveEventResponse e = new LiveEventResponse();
+        if (event.isBulk()) {
+            e.setType("refresh");   // toplu değişiklik: istemci listeyi yeniden çekmeli
+        } else {
+            e.setType(event.oldStatus() == null ? "task.created" : "task.status");
+            e.setTaskId(event.taskId());
+            e.setCompanyId(event.companyId());
+            e.setDifficulty(event.difficulty());
+            e.setPrice(event.price());
+            e.setOldStatus(event.oldStatus() != null ? event.oldStatus().name() : null);
+            e.setNewStatus(event.newStatus() != null ? event.newStatus().name() : null);
+        }
+        e.setAt(Instant.now());
+        publish(e);
+    }
+
+    // Sadece o şirketin görevlerini gösteren istemciler satırlarını yenilesin (herkese "refresh" değil)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        LiveEventResponse e = new LiveEventResponse();
+        e.setType("company.updated");
+        e.setCompanyId(event.companyId());
+        e.setAt(Instant.now());
+        publish(e);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionChanged(SubmissionChangedEvent event) {
+        LiveEventResponse e = new LiveEventResponse();
+        e.setType("submission.status");
+        e.setSubmissionId(event.submissionId());
+        e.setTaskId(event.taskId());
+        e.setCompanyId(event.companyId());
+        e.setEngineerId(event.engineerId());
+        e.setOldStatus(event.oldStatus() != null ? event.oldStatus().name() : null);
+        e.setNewStatus(event.newStatus() != null ? event.newStatus().name() : null);
+        e.setAt(Instant.now());
+        publish(e);
+    }
+
+    @Scheduled(fixedDelayString = "${app.live-events.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Subscriber s : subscribers) {
+            s.offer("ping");
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void publish(LiveEventResponse e) {
+        for (Subscriber s : subscribers) {
+            if (s.filter.matches(e)) {
+                s.offer(e);
+            }
+        }
+    }
+
+    private void remove(Subscriber s) {
+        subscribers.remove(s);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber s : subscribers) {
+            s.emitter.complete();
+        }
+        sender.shutdown();
+    }
+}
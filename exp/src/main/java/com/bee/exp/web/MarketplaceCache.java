@@ -0,0 +1,159 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.service.CompanyChangedEvent;
+import com.bee.exp.service.TaskChangedEvent;
+import com.bee.exp.web.dto.TaskResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Marketplace listeleri için read-through cache.
+ * - Değer, kullanıcıdan bağımsız hazır TaskResponse listesidir (claimedByMe / submittedByMe false);
+ *   kullanıcıya özel bayraklar TaskController'da kopya üzerinde eklenir, cache'teki nesneler değiştirilmez.
+ * - Boyut, cache'teki toplam TaskResponse sayısı ile sınırlıdır.
+ * - TaskChangedEvent geldiğinde sadece o görevi içerebilecek girdiler silinir,
+ *   CompanyChangedEvent'te sadece o şirketin görevlerini içerenler; TTL sadece emniyet içindir.
+ * Hit / miss metrikleri "cache.*{cache=marketplace}" olarak yayınlanır.
+ */
+@Component
+public class MarketplaceCache {
+
+    /**
+     * Listeleme sorgusu. full = true ise sayfasız PUBLISHED listesi (GET /api/tasks; difficulty verilmişse süzülmüş).
+     */
+    record Key(boolean full,
+               TaskStatus status,
+               TaskDifficulty difficulty,
+               Integer minPrice,
+               Integer maxPrice,
+               Long companyId,
+               Long cursor,
+               int limit) {
+
+        static Key published(TaskDifficulty difficulty) {
+            return new Key(true, TaskStatus.PUBLISHED, difficulty, null, null, null, null, 0);
+        }
+
+        static Key page(TaskStatus status, TaskDifficulty difficulty, Integer minPrice, Integer maxPrice,
+                        Long companyId, Long cursor, int limit) {
+            return new Key(false, status, difficulty, minPrice, maxPrice, companyId, cursor, limit);
+        }
+
+        boolean matches(TaskStatus taskStatus, TaskDifficulty taskDifficulty, Integer price, Long taskCompanyId) {
+            if (taskStatus == null || taskStatus != status) return false;
+            if (difficulty != null && difficulty != taskDifficulty) return false;
+            if (minPrice != null && (price == null || price < minPrice)) return false;
+            if (maxPrice != null && (price == null || price > maxPrice)) return false;
+            return companyId == null || Objects.equals(companyId, taskCompanyId);
+        }
+    }
+
+    /**
+     * nextCursor: sayfa doluysa sayfadaki son id (sonraki sayfa bundan küçük id'lerle başlar).
+     */
+    record Entry(List<TaskResponse> items, Long nextCursor) {
+    }
+
+    private final Cache<Key, Entry> cache;
+    // Her invalidation turunda artar; süren yüklemeler bununla olayı kaçırıp kaçırmadığını anlar
+    private final AtomicLong generation = new AtomicLong();
+
+    public MarketplaceCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.marketplace-cache.max-items:200000}") long maxItems,
+            @Value("${app.marketplace-cache.ttl:60s}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxItems)
+                .weigher((Key k, Entry e) -> e.items().size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "marketplace");
+    }
+
+    /**
+     * asMap() taraması henüz yüklenmekte olan girdileri görmez: commit'ten önce okumaya başlayan yükleme
+     * invalidation'dan sonra cache'e yazıp bayat listeyi TTL'e kadar sunabilirdi. Yükleme sürerken
+     * generation değiştiyse yazdığı girdi geri alınır (isteğe yine döner). Kontrol girdi yazıldıktan sonra
+     * yapılır: generation bundan sonra artarsa, o olayın taraması girdiyi zaten görür.
+     */
+    Entry get(Key key, Supplier<Entry> loader) {
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long startedAt = generation.get();
+        Entry entry = cache.get(key, k -> loader.get());
+        if (generation.get() != startedAt) {
+            cache.asMap().remove(key, entry);
+        }
+        return entry;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.isBulk()) {
+            cache.invalidateAll();
+            return;
+        }
+        for (Map.Entry<Key, Entry> e : cache.asMap().entrySet()) {
+            if (affects(e.getKey(), e.getValue(), event)) {
+                cache.invalidate(e.getKey());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        generation.incrementAndGet();
+        for (Map.Entry<Key, Entry> e : cache.asMap().entrySet()) {
+            if (Objects.equals(e.getKey().companyId(), event.companyId())
+                    || containsCompany(e.getValue(), event.oldName())) {
+                cache.invalidate(e.getKey());
+            }
+        }
+    }
+
+    // TaskResponse'ta şirket id'si yok; aynı adlı başka şirketin girdileri de silinir, zararsız
+    private static boolean containsCompany(Entry entry, String companyName) {
+        for (TaskResponse r : entry.items()) {
+            if (Objects.equals(r.getCompanyName(), companyName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean affects(Key key, Entry entry, TaskChangedEvent event) {
+        boolean before = key.matches(event.oldStatus(), event.difficulty(), event.price(), event.companyId());
+        boolean after = key.matches(event.newStatus(), event.difficulty(), event.price(), event.companyId());
+        if (!before && !after) {
+            return false;
+        }
+        if (key.full()) {
+            return true;
+        }
+        // Keyset sayfası sadece (nextCursor, cursor) aralığındaki id'leri içerir (id DESC)
+        long id = event.taskId();
+        if (key.cursor() != null && id >= key.cursor()) {
+            return false;
+        }
+        return entry.nextCursor() == null || id >= entry.nextCursor();
+    }
+}
@@ -0,0 +1,74 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.Company;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.CompanyRepository;
+import com.bee.exp.service.StatsService;
+import com.bee.exp.web.dto.CompanyStatsResponse;
+import com.bee.exp.web.dto.EngineerStatsResponse;
+import com.bee.exp.web.dto.TaskStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Dashboard sayaçları. Değerler StatsService'in bellek içi sayaçlarından okunur,
+ * kaynak tablolar taranmaz.
+ */
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class StatsController {
+
+    private final StatsService statsService;
+    private final CompanyRepository companyRepository;
+
+    // COMPANY: kendi şirketinin görev / submission sayıları
+    @GetMapping("/company")
+    public ResponseEntity<CompanyStatsResponse> myCompany(@AuthenticationPrincipal User currentUser) {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+        Long companyId = companyRepository.findByOwner(currentUser).map(Company::getId).orElse(null);
+        if (companyId == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StatsService.CompanyStats s = statsService.companyStats(companyId);
+        CompanyStatsResponse r = new CompanyStatsResponse();
+        r.setCompanyId(s.companyId());
+        r.setTasksByStatus(s.tasksByStatus());
+        r.setSubmissionsByStatus(s.submissionsByStatus());
+        return ResponseEntity.ok(r);
+    }
+
+    @GetMapping("/tasks/{id}")
+    public TaskStatsResponse task(@PathVariable Long id) {
+        StatsService.TaskStats s = statsService.taskStats(id);
+        TaskStatsResponse r = new TaskStatsResponse();
+        r.setTaskId(s.taskId());
+        r.setSubmissionsByStatus(s.submissionsByStatus());
+        return r;
+    }
+
+    @GetMapping("/engineers/me")
+    public EngineerStatsResponse me(@AuthenticationPrincipal User currentUser) {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+        return engineer(currentUser.getId());
+    }
+
+    // XP leaderboard'da zaten herkese açık; submission sayıları da hassas değil
+    @GetMapping("/engineers/{id}")
+    public EngineerStatsResponse engineer(@PathVariable Long id) {
+        StatsService.EngineerStats s = statsService.engineerStats(id);
+        EngineerStatsResponse r = new EngineerStatsResponse();
+        r.setUserId(s.userId());
+        r.setXp(s.xp());
+        r.setSubmissionsByStatus(s.submissionsByStatus());
+        return r;
+    }
+}
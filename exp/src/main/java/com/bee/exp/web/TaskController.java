@@ -1,34 +1,65 @@
 package com.bee.exp.web;
 
+import com.bee.exp.domain.SubmissionStatus;
 import com.bee.exp.domain.Task;
 import com.bee.exp.domain.TaskSubmission;
 import com.bee.exp.domain.TaskDifficulty;
 import com.bee.exp.domain.TaskStatus;
 import com.bee.exp.domain.User;
+import com.bee.exp.repository.ChangeStamp;
 import com.bee.exp.repository.TaskSubmissionRepository;
+import com.bee.exp.repository.TaskSubmissionState;
+import com.bee.exp.service.TaskFeedService;
 import com.bee.exp.service.TaskService;
+import com.bee.exp.web.dto.BulkApproveRequest;
+import com.bee.exp.web.dto.BulkImportResponse;
+import com.bee.exp.web.dto.SubmissionResponse;
 import com.bee.exp.web.dto.TaskCreateRequest;
+import com.bee.exp.web.dto.TaskPageResponse;
 import com.bee.exp.web.dto.TaskResponse;
 import com.bee.exp.web.dto.TaskSubmitRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/tasks")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class TaskController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TaskService taskService;
+    private final TaskFeedService taskFeedService;
     private final TaskSubmissionRepository taskSubmissionRepository; 
+    private final ObjectMapper objectMapper;
+    private final MarketplaceCache marketplaceCache;
 
     @GetMapping("/ping")
     public String ping() {
-        System.out.println("PING /api/tasks/ping hit");
+        log.debug("PING /api/tasks/ping hit");
         return "ok";
     }
 
@@ -36,21 +67,159 @@ public class TaskController {
     public List<TaskResponse> list(
             @AuthenticationPrincipal User currentUser,
             @RequestParam(name = "status", required = false) TaskStatus status,
-            @RequestParam(name = "difficulty", required = false) TaskDifficulty difficulty
+            @RequestParam(name = "difficulty", required = false) TaskDifficulty difficulty,
+            WebRequest webRequest
     ) {
-        List<Task> tasks;
-    
-        // Eğer engineer login ise: kendi görevleri + açık görevler
-        if (currentUser != null && "ENGINEER".equalsIgnoreCase(String.valueOf(currentUser.getRole()))) {
-            tasks = taskService.listTasksForEngineer(currentUser);
-        } else {
-            // anonim veya firma → sadece yayınlanmış görevler
-            tasks = taskService.listPublishedTasks();
+        // İstemcideki kopya hâlâ güncelse listeyi hiç kurmadan 304
+        if (notModified(webRequest, TaskStatus.PUBLISHED, currentUser)) {
+            return null;
+        }
+
+        // Yayınlanmış görevler herkes için aynı → cache'ten; zorluk filtresi SQL'de, her zorluk ayrı girdi
+        List<TaskResponse> base = status == null || status == TaskStatus.PUBLISHED
+                ? marketplaceCache.get(MarketplaceCache.Key.published(difficulty),
+                        () -> new MarketplaceCache.Entry(toResponses(taskService.listPublishedTasks(difficulty)), null)).items()
+                : List.of();
+
+        // Eğer engineer login ise: kendi görevleri (filtreye uyanlar) + açık görevler
+        if (isEngineer(currentUser)) {
+            List<TaskResponse> merged = new ArrayList<>(base);
+            Set<Long> seenIds = new HashSet<>();
+            for (TaskResponse r : base) {
+                seenIds.add(r.getId());
+            }
+            for (Task t : taskService.listSubmittedTasks(currentUser)) {
+                if (t.getId() != null
+                        && (status == null || t.getStatus() == status)
+                        && (difficulty == null || t.getDifficulty() == difficulty)
+                        && seenIds.add(t.getId())) {
+                    merged.add(toResponse(t));
+                }
+            }
+            base = merged;
         }
-    
-        return tasks.stream()
-                .map(t -> toResponse(t, currentUser))
-                .toList();
+
+        return withFlags(base, currentUser);
+    }
+
+    /**
+     * Marketplace'i tamamını yüklemeden sayfa sayfa döner.
+     * Bir sonraki sayfa için dönen nextCursor, "cursor" parametresi olarak gönderilir.
+     */
+    @GetMapping("/page")
+    public TaskPageResponse page(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(name = "status", required = false) TaskStatus status,
+            @RequestParam(name = "difficulty", required = false) TaskDifficulty difficulty,
+            @RequestParam(name = "minPrice", required = false) Integer minPrice,
+            @RequestParam(name = "maxPrice", required = false) Integer maxPrice,
+            @RequestParam(name = "companyId", required = false) Long companyId,
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "limit", defaultValue = "20") int limit,
+            WebRequest webRequest
+    ) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        TaskStatus effectiveStatus = status != null ? status : TaskStatus.PUBLISHED;
+
+        if (notModified(webRequest, effectiveStatus, currentUser)) {
+            return null;
+        }
+
+        MarketplaceCache.Entry entry = marketplaceCache.get(
+                MarketplaceCache.Key.page(effectiveStatus, difficulty, minPrice, maxPrice, companyId, cursor, size),
+                () -> {
+                    List<Task> tasks = taskService.listTasksPage(
+                            effectiveStatus, difficulty, minPrice, maxPrice, companyId, cursor, size);
+                    boolean hasMore = tasks.size() > size;
+                    if (hasMore) {
+                        tasks = tasks.subList(0, size);
+                    }
+                    return new MarketplaceCache.Entry(toResponses(tasks),
+                            hasMore ? tasks.get(tasks.size() - 1).getId() : null);
+                });
+
+        TaskPageResponse resp = new TaskPageResponse();
+        resp.setItems(withFlags(entry.items(), currentUser));
+        resp.setNextCursor(entry.nextCursor());
+        return resp;
+    }
+
+    /**
+     * Başlık ve açıklamada tam metin arama, alaka sırasına göre.
+     * Sıralama id'ye göre olmadığı için cursor burada bir sonraki sayfanın offset'idir.
+     */
+    @GetMapping("/search")
+    public TaskPageResponse search(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam("q") String q,
+            @RequestParam(name = "status", required = false) TaskStatus status,
+            @RequestParam(name = "cursor", defaultValue = "0") int cursor,
+            @RequestParam(name = "limit", defaultValue = "20") int limit
+    ) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int offset = Math.max(0, cursor);
+
+        List<Task> tasks = taskService.searchTasks(q, status, offset, size);
+        boolean hasMore = tasks.size() > size;
+        if (hasMore) {
+            tasks = tasks.subList(0, size);
+        }
+
+        TaskPageResponse resp = new TaskPageResponse();
+        resp.setItems(withFlags(toResponses(tasks), currentUser));
+        resp.setNextCursor(hasMore ? (long) (offset + size) : null);
+        return resp;
+    }
+
+    /**
+     * ENGINEER: yayındaki görevler bu engineer'a uygunluk sırasıyla (level, geçmiş zorluklar,
+     * fiyat, şirket yakınlığı). Claim ettikleri görevler dahil değil.
+     * cursor bir sonraki sayfanın offset'idir; en fazla TaskFeedService.MAX_FEED_DEPTH görev.
+     */
+    @GetMapping("/feed")
+    public TaskPageResponse feed(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(name = "cursor", defaultValue = "0") int cursor,
+            @RequestParam(name = "limit", defaultValue = "20") int limit
+    ) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int offset = Math.max(0, cursor);
+
+        List<Task> tasks = taskFeedService.feed(currentUser, offset, size);
+        boolean hasMore = tasks.size() > size;
+        if (hasMore) {
+            tasks = tasks.subList(0, size);
+        }
+
+        TaskPageResponse resp = new TaskPageResponse();
+        resp.setItems(toResponses(tasks));
+        resp.setNextCursor(hasMore ? (long) (offset + size) : null);
+        return resp;
+    }
+
+    /**
+     * COMPANY: şirketin tüm görev ve submission'ları, format=ndjson (varsayılan) veya format=csv.
+     * Satırlar DB'den okundukça doğrudan response'a yazılır; milyonlarca satırda da heap sabit kalır.
+     */
+    @GetMapping("/export")
+    public void export(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        if (currentUser == null) {
+            throw new RuntimeException("Unauthenticated");
+        }
+
+        // Geçersiz format header'lar yazılmadan reddedilsin
+        TaskExportWriter writer = TaskExportWriter.forFormat(format, objectMapper.getFactory(), response.getOutputStream());
+        response.setContentType(TaskExportWriter.contentType(format));
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"tasks-export." + ("csv".equalsIgnoreCase(format) ? "csv" : "ndjson") + "\"");
+
+        writer.start();
+        taskService.exportCompany(currentUser, writer::task, writer::submission);
+        writer.finish();
     }
 
     @PostMapping
@@ -69,6 +238,62 @@ public class TaskController {
         return ResponseEntity.ok(toResponse(saved));
     }
 
+    /**
+     * Toplu görev yükleme: gövde TaskCreateRequest'lerden oluşan bir JSON dizisi.
+     * Dizi bellekte liste olarak kurulmaz; parser'dan eleman eleman okunup batch insert edilir.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResponse> bulkCreate(
+            @AuthenticationPrincipal User currentUser,
+            HttpServletRequest request
+    ) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(request.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Expected a JSON array of tasks");
+            }
+
+            Iterator<Task> tasks = new Iterator<>() {
+                private JsonToken next = advance();
+
+                private JsonToken advance() {
+                    try {
+                        return parser.nextToken();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next == JsonToken.START_OBJECT;
+                }
+
+                @Override
+                public Task next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    try {
+                        TaskCreateRequest req = objectMapper.readValue(parser, TaskCreateRequest.class);
+                        next = advance();
+                        return Task.builder()
+                                .title(req.getTitle())
+                                .description(req.getDescription())
+                                .difficulty(req.getDifficulty())
+                                .price(req.getPrice())
+                                .build();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+
+            BulkImportResponse resp = new BulkImportResponse();
+            resp.setImported(taskService.importTasks(tasks, currentUser));
+            return ResponseEntity.ok(resp);
+        }
+    }
+
     @PostMapping("/{id}/claim")
     public ResponseEntity<TaskResponse> claim(
             @PathVariable("id") Long id,
@@ -97,11 +322,73 @@ public class TaskController {
         return ResponseEntity.ok(toResponse(t));
     }
 
-    private TaskResponse toResponse(Task t) {
-        return toResponse(t, null);
+    @PostMapping("/submissions/{id}/approve")
+    public ResponseEntity<SubmissionResponse> approveSubmission(
+            @PathVariable("id") Long id,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        return ResponseEntity.ok(toSubmissionResponse(taskService.approveSubmission(id, currentUser)));
+    }
+
+    @PostMapping("/submissions/{id}/reject")
+    public ResponseEntity<SubmissionResponse> rejectSubmission(
+            @PathVariable("id") Long id,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        return ResponseEntity.ok(toSubmissionResponse(taskService.rejectSubmission(id, currentUser)));
+    }
+
+    /**
+     * Çok sayıda submission'ı tek istekte / tek transaction'da onaylar.
+     * Sadece gerçekten onaylananlar döner (onay beklemeyenler atlanır).
+     */
+    @PostMapping("/submissions/approve")
+    public ResponseEntity<List<SubmissionResponse>> approveSubmissions(
+            @AuthenticationPrincipal User currentUser,
+            @RequestBody BulkApproveRequest req
+    ) {
+        List<TaskSubmission> approved = taskService.approveSubmissions(req.getSubmissionIds(), currentUser);
+        return ResponseEntity.ok(approved.stream().map(this::toSubmissionResponse).toList());
+    }
+
+    private SubmissionResponse toSubmissionResponse(TaskSubmission s) {
+        SubmissionResponse r = new SubmissionResponse();
+        r.setId(s.getId());
+        if (s.getTask() != null) r.setTaskId(s.getTask().getId());
+        if (s.getEngineer() != null) {
+            r.setEngineerId(s.getEngineer().getId());
+            r.setEngineerName(s.getEngineer().getFullName());
+        }
+        r.setStatus(s.getStatus());
+        r.setNotes(s.getNotes());
+        r.setAttachmentUrl(s.getAttachmentUrl());
+        r.setSubmittedAt(s.getSubmittedAt());
+        r.setReviewedAt(s.getReviewedAt());
+        return r;
+    }
+
+    /**
+     * ETag: bu status'teki görevlerin sayısı / son güncellemesi (+ şirketleri);
+     * engineer için ayrıca kendi submission'larının özeti (claimedByMe / submittedByMe onlara bağlı).
+     * Sadece aggregate sorgular atılır. Değişmemişse 304 + true döner.
+     * Last-Modified verilmez: görev bu status'ten çıkınca max(updatedAt) ilerlemez
+     * (listeden çıkan satır hesaba girmez), If-Modified-Since eski listeye 304 derdi. Sayı sadece ETag'te.
+     */
+    private boolean notModified(WebRequest webRequest, TaskStatus status, User currentUser) {
+        ChangeStamp tasks = taskService.listingStamp(status);
+        ChangeStamp mine = isEngineer(currentUser) ? taskService.submissionStamp(currentUser) : null;
+
+        String etag = ConditionalGet.etag(
+                status, tasks.getCount(), tasks.getLastModified(), tasks.getRelatedLastModified(),
+                mine != null ? currentUser.getId() : null,
+                mine != null ? mine.getCount() : null,
+                mine != null ? mine.getLastModified() : null,
+                mine != null ? mine.getRelatedLastModified() : null
+        );
+        return webRequest.checkNotModified(etag);
     }
-    
-    private TaskResponse toResponse(Task t, User currentUser) {
+
+    public static TaskResponse toResponse(Task t) {
         TaskResponse r = new TaskResponse();
         r.setId(t.getId());
         r.setTitle(t.getTitle());
@@ -111,33 +398,64 @@ public class TaskController {
         r.setStatus(t.getStatus());
         if (t.getCompany() != null) r.setCompanyName(t.getCompany().getName());
         if (t.getAssignedTo() != null) r.setAssignedEngineerName(t.getAssignedTo().getFullName());
-    
-        // 👇 burada claimedByMe / submittedByMe hesaplıyoruz
-        boolean claimed = false;
-        boolean submitted = false;
-    
-        if (currentUser != null &&
-                "ENGINEER".equalsIgnoreCase(String.valueOf(currentUser.getRole()))) {
-    
-            taskSubmissionRepository.findByTaskAndEngineer(t, currentUser)
-                    .ifPresent(sub -> {
-                        // varlığı → claimed
-                        // notes veya attachmentUrl doluysa → submitted
-                    });
-            var opt = taskSubmissionRepository.findByTaskAndEngineer(t, currentUser);
-            if (opt.isPresent()) {
-                claimed = true;
-                TaskSubmission sub = opt.get();
-                if ((sub.getNotes() != null && !sub.getNotes().isBlank())
-                        || (sub.getAttachmentUrl() != null && !sub.getAttachmentUrl().isBlank())) {
-                    submitted = true;
-                }
-            }
+        r.setClaimedByMe(false);
+        r.setSubmittedByMe(false);
+        return r;
+    }
+
+    public static List<TaskResponse> toResponses(List<Task> tasks) {
+        List<TaskResponse> result = new ArrayList<>(tasks.size());
+        for (Task t : tasks) {
+            result.add(toResponse(t));
+        }
+        return result;
+    }
+
+    /**
+     * claimedByMe / submittedByMe bilgisini görev başına sorgu atmadan,
+     * engineer'ın tüm submission durumlarını tek sorguda çekip bellekte eşleştirerek ekler.
+     * Gelen liste cache'ten gelebileceği için nesneler değiştirilmez, kopyalanır.
+     */
+    private List<TaskResponse> withFlags(List<TaskResponse> base, User currentUser) {
+        if (!isEngineer(currentUser) || base.isEmpty()) {
+            return base;
+        }
+
+        Map<Long, SubmissionStatus> states = new HashMap<>();
+        for (TaskSubmissionState st : taskSubmissionRepository.findStatesByEngineerId(currentUser.getId())) {
+            states.put(st.getTaskId(), st.getStatus());
+        }
+        if (states.isEmpty()) {
+            return base;
+        }
+
+        List<TaskResponse> result = new ArrayList<>(base.size());
+        for (TaskResponse r : base) {
+            // satır varsa → claimed; CLAIMED'den ilerlemişse (submit / onay / red) → submitted
+            boolean claimed = states.containsKey(r.getId());
+            SubmissionStatus status = states.get(r.getId());
+            boolean submitted = status != null && status != SubmissionStatus.CLAIMED;
+            result.add(copyWithFlags(r, claimed, submitted));
         }
-    
+        return result;
+    }
+
+    private TaskResponse copyWithFlags(TaskResponse src, boolean claimed, boolean submitted) {
+        TaskResponse r = new TaskResponse();
+        r.setId(src.getId());
+        r.setTitle(src.getTitle());
+        r.setDescription(src.getDescription());
+        r.setDifficulty(src.getDifficulty());
+        r.setPrice(src.getPrice());
+        r.setStatus(src.getStatus());
+        r.setCompanyName(src.getCompanyName());
+        r.setAssignedEngineerName(src.getAssignedEngineerName());
         r.setClaimedByMe(claimed);
         r.setSubmittedByMe(submitted);
-    
         return r;
     }
+
+    private static boolean isEngineer(User user) {
+        return user != null && "ENGINEER".equalsIgnoreCase(String.valueOf(user.getRole()));
+    }
 }
@@ -0,0 +1,211 @@
+package com.bee.exp.web;
+
+import com.bee.exp.repository.SubmissionExportRow;
+import com.bee.exp.repository.TaskExportRow;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Şirket export'unu satır satır response'a yazar. Hiçbir satırı tutmaz; ilk satırdan sonra
+ * flush eder ki istemci ilk byte'ı sorgunun bitmesini beklemeden alsın.
+ *
+ * NDJSON: satır başına bir obje, "type" alanı "task" veya "submission".
+ * CSV: görev ve submission'lar için ortak kolonlar, record_type ile ayrılır.
+ */
+abstract class TaskExportWriter {
+
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+
+    private boolean flushed;
+
+    static TaskExportWriter forFormat(String format, JsonFactory jsonFactory, OutputStream out) throws IOException {
+        return switch (format.toLowerCase()) {
+            case "ndjson", "json" -> new Ndjson(jsonFactory.createGenerator(out));
+            case "csv" -> new Csv(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+    }
+
+    static String contentType(String format) {
+        return "csv".equalsIgnoreCase(format) ? CSV + ";charset=UTF-8" : NDJSON;
+    }
+
+    abstract void start() throws IOException;
+
+    abstract void writeTask(TaskExportRow row) throws IOException;
+
+    abstract void writeSubmission(SubmissionExportRow row) throws IOException;
+
+    abstract void finish() throws IOException;
+
+    abstract void flush() throws IOException;
+
+    // Stream.forEach içinden çağrılır; IOException'ı (istemci bağlantıyı kesti vb.) taşır
+    void task(TaskExportRow row) {
+        try {
+            writeTask(row);
+            flushOnce();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void submission(SubmissionExportRow row) {
+        try {
+            writeSubmission(row);
+            flushOnce();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flushOnce() throws IOException {
+        if (!flushed) {
+            flush();
+            flushed = true;
+        }
+    }
+
+    private static String str(Object o) {
+        return o != null ? o.toString() : null;
+    }
+
+    private static final class Ndjson extends TaskExportWriter {
+
+        private final JsonGenerator gen;
+
+        Ndjson(JsonGenerator gen) {
+            this.gen = gen;
+        }
+
+        @Override
+        void start() {
+        }
+
+        @Override
+        void writeTask(TaskExportRow r) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("type", "task");
+            gen.writeNumberField("id", r.getId());
+            gen.writeStringField("title", r.getTitle());
+            gen.writeStringField("description", r.getDescription());
+            gen.writeStringField("difficulty", str(r.getDifficulty()));
+            if (r.getPrice() != null) gen.writeNumberField("price", r.getPrice());
+            gen.writeStringField("status", str(r.getStatus()));
+            if (r.getAssignedEngineerId() != null) gen.writeNumberField("assignedEngineerId", r.getAssignedEngineerId());
+            gen.writeStringField("assignedEngineerName", r.getAssignedEngineerName());
+            gen.writeStringField("createdAt", str(r.getCreatedAt()));
+            gen.writeStringField("updatedAt", str(r.getUpdatedAt()));
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+
+        @Override
+        void writeSubmission(SubmissionExportRow r) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("type", "submission");
+            gen.writeNumberField("id", r.getId());
+            gen.writeNumberField("taskId", r.getTaskId());
+            gen.writeNumberField("engineerId", r.getEngineerId());
+            gen.writeStringField("engineerName", r.getEngineerName());
+            gen.writeStringField("engineerEmail", r.getEngineerEmail());
+            gen.writeStringField("status", str(r.getStatus()));
+            gen.writeStringField("notes", r.getNotes());
+            gen.writeStringField("attachmentUrl", r.getAttachmentUrl());
+            gen.writeStringField("submittedAt", str(r.getSubmittedAt()));
+            gen.writeStringField("reviewedAt", str(r.getReviewedAt()));
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            gen.close();
+        }
+
+        @Override
+        void flush() throws IOException {
+            gen.flush();
+        }
+    }
+
+    private static final class Csv extends TaskExportWriter {
+
+        private static final String HEADER = "record_type,task_id,title,description,difficulty,price,task_status," +
+                "assigned_engineer_id,submission_id,engineer_id,engineer_name,engineer_email,submission_status," +
+                "notes,attachment_url,created_at,updated_at,submitted_at,reviewed_at";
+
+        private final Writer out;
+
+        Csv(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        void start() throws IOException {
+            out.write(HEADER);
+            out.write('\n');
+            flush();
+        }
+
+        @Override
+        void writeTask(TaskExportRow r) throws IOException {
+            row("task", r.getId(), r.getTitle(), r.getDescription(), r.getDifficulty(), r.getPrice(), r.getStatus(),
+                    r.getAssignedEngineerId(), null, null, r.getAssignedEngineerName(), null, null,
+                    null, null, r.getCreatedAt(), r.getUpdatedAt(), null, null);
+        }
+
+        @Override
+        void writeSubmission(SubmissionExportRow r) throws IOException {
+            row("submission", r.getTaskId(), null, null, null, null, null,
+                    null, r.getId(), r.getEngineerId(), r.getEngineerName(), r.getEngineerEmail(), r.getStatus(),
+                    r.getNotes(), r.getAttachmentUrl(), null, null, r.getSubmittedAt(), r.getReviewedAt());
+        }
+
+        private void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.write(',');
+                if (values[i] instanceof String text) {
+                    out.write(escape(text));
+                } else if (values[i] != null) {
+                    out.write(values[i].toString());
+                }
+            }
+            out.write('\n');
+        }
+
+        // RFC 4180: ayırıcı, tırnak veya satır sonu içeren alanlar tırnaklanır.
+        // Serbest metin engineer'dan geliyor; tablo programı formül olarak çalıştırmasın diye başına ' eklenir
+        // (tab / CR ile başlayan hücreler de bazı programlarda formül olarak yorumlanıyor)
+        private static String escape(String v) {
+            if (!v.isEmpty() && "=+-@\t\r".indexOf(v.charAt(0)) >= 0) {
+                v = "'" + v;
+            }
+            boolean quote = false;
+            for (int i = 0; i < v.length() && !quote; i++) {
+                char c = v.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            return quote ? '"' + v.replace("\"", "\"\"") + '"' : v;
+        }
+
+        @Override
+        void finish() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.bee.exp.web.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkApproveRequest {
+    private List<Long> submissionIds;
+}
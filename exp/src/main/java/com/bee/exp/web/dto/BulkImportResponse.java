@@ -0,0 +1,8 @@
+package com.bee.exp.web.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkImportResponse {
+    private Integer imported;
+}
@@ -0,0 +1,14 @@
+package com.bee.exp.web.dto;
+
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.TaskStatus;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class CompanyStatsResponse {
+    private Long companyId;
+    private Map<TaskStatus, Long> tasksByStatus;
+    private Map<SubmissionStatus, Long> submissionsByStatus;
+}
@@ -0,0 +1,13 @@
+package com.bee.exp.web.dto;
+
+import com.bee.exp.domain.SubmissionStatus;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class EngineerStatsResponse {
+    private Long userId;
+    private Long xp;
+    private Map<SubmissionStatus, Long> submissionsByStatus;
+}
@@ -0,0 +1,11 @@
+package com.bee.exp.web.dto;
+
+import lombok.Data;
+
+@Data
+public class LeaderboardEntryResponse {
+    private Integer rank;
+    private Long userId;
+    private String fullName;
+    private Long xp;
+}
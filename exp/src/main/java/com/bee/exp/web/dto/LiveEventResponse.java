@@ -0,0 +1,25 @@
+package com.bee.exp.web.dto;
+
+import com.bee.exp.domain.TaskDifficulty;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * SSE olayı. type: task.created | task.status | submission.status | refresh
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveEventResponse {
+    private String type;
+    private Long taskId;
+    private Long companyId;
+    private Long submissionId;
+    private Long engineerId;
+    private TaskDifficulty difficulty;
+    private Integer price;
+    private String oldStatus;
+    private String newStatus;
+    private Instant at;
+}
@@ -0,0 +1,19 @@
+package com.bee.exp.web.dto;
+
+import com.bee.exp.domain.SubmissionStatus;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class SubmissionResponse {
+    private Long id;
+    private Long taskId;
+    private Long engineerId;
+    private String engineerName;
+    private SubmissionStatus status;
+    private String notes;
+    private String attachmentUrl;
+    private Instant submittedAt;
+    private Instant reviewedAt;
+}
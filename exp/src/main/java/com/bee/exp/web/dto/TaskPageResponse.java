@@ -0,0 +1,11 @@
+package com.bee.exp.web.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskPageResponse {
+    private List<TaskResponse> items;
+    private Long nextCursor;    // null ise son sayfa
+}
@@ -0,0 +1,12 @@
+package com.bee.exp.web.dto;
+
+import com.bee.exp.domain.SubmissionStatus;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class TaskStatsResponse {
+    private Long taskId;
+    private Map<SubmissionStatus, Long> submissionsByStatus;
+}
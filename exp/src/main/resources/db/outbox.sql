@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events (next_attempt_at, id) WHERE processed_at IS NULL AND failed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending_aggregate ON outbox_events (aggregate_type, aggregate_id, id) WHERE processed_at IS NULL AND failed_at IS NULL;
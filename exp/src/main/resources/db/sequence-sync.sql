@@ -0,0 +1,8 @@
+-- IDENTITY'den SEQUENCE'a geçiş: ddl-auto update mevcut tablolar için *_seq sequence'larını 1'den başlatır.
+-- Her sequence tablodaki en büyük id'ye çekilir (pooled optimizer sonraki bloğu max(id)+1'den verir).
+-- İdempotent: sequence zaten ilerideyse (normal çalışma) dokunulmaz, her açılışta güvenle çalışır.
+SELECT setval('users_seq', m) FROM (SELECT max(id) AS m FROM users) t WHERE m >= (SELECT last_value FROM users_seq);
+SELECT setval('companies_seq', m) FROM (SELECT max(id) AS m FROM companies) t WHERE m >= (SELECT last_value FROM companies_seq);
+SELECT setval('tasks_seq', m) FROM (SELECT max(id) AS m FROM tasks) t WHERE m >= (SELECT last_value FROM tasks_seq);
+SELECT setval('task_submissions_seq', m) FROM (SELECT max(id) AS m FROM task_submissions) t WHERE m >= (SELECT last_value FROM task_submissions_seq);
+SELECT setval('xp_ledger_seq', m) FROM (SELECT max(id) AS m FROM xp_ledger) t WHERE m >= (SELECT last_value FROM xp_ledger_seq);
@@ -0,0 +1,31 @@
+-- Optimistic locking ve tekil claim öncesi satırlar (ddl-auto update ile yükseltilen veritabanları):
+-- 1) @Version kolonları eski satırlarda NULL; Spring Data bunları yeni sanıp INSERT'e çevirir. 0 ile doldurulur.
+-- 2) Eşzamanlı claim'lerden kalan çift (task_id, engineer_id) satırları: en ilerideki durum (APPROVED >
+--    SUBMITTED > REJECTED > CLAIMED), sonra en son güncellenen, sonra en küçük id kalır. Silinenlere bağlı
+--    XP kayıtları kalan satıra taşınır.
+-- 3) Unique constraint çiftler varken oluşturulamadığı için (Hibernate sessizce atlar) burada yeniden kurulur;
+--    Hibernate de her açılışta aynı şekilde drop / create yapar.
+-- İdempotent; her açılışta çalışır. db/submission-status-backfill.sql'den sonra çalışmalı.
+UPDATE tasks SET version = 0 WHERE version IS NULL;
+ALTER TABLE tasks ALTER COLUMN version SET NOT NULL;
+UPDATE task_submissions SET version = 0 WHERE version IS NULL;
+ALTER TABLE task_submissions ALTER COLUMN version SET NOT NULL;
+
+DROP TABLE IF EXISTS submission_duplicates;
+CREATE TEMPORARY TABLE submission_duplicates AS
+SELECT id, keep_id
+FROM (SELECT id,
+             first_value(id) OVER w AS keep_id,
+             row_number() OVER w AS rn
+      FROM task_submissions
+      WINDOW w AS (PARTITION BY task_id, engineer_id
+                   ORDER BY CASE status WHEN 'APPROVED' THEN 0 WHEN 'SUBMITTED' THEN 1
+                                        WHEN 'REJECTED' THEN 2 WHEN 'CLAIMED' THEN 3 ELSE 4 END,
+                            updated_at DESC NULLS LAST, id)) ranked
+WHERE rn > 1;
+UPDATE xp_ledger l SET submission_id = d.keep_id FROM submission_duplicates d WHERE l.submission_id = d.id;
+DELETE FROM task_submissions s USING submission_duplicates d WHERE s.id = d.id;
+DROP TABLE submission_duplicates;
+
+ALTER TABLE task_submissions DROP CONSTRAINT IF EXISTS uk_task_submissions_task_engineer;
+ALTER TABLE task_submissions ADD CONSTRAINT uk_task_submissions_task_engineer UNIQUE (task_id, engineer_id);
@@ -0,0 +1,24 @@
+-- TaskSubmission.status'tan önceki satırlar: ddl-auto update kolonu NULL olarak ekler.
+-- Durum mevcut alanlardan türetilir:
+--   reviewed_at dolu                        → APPROVED
+--   notes / attachment_url boş              → CLAIMED
+--   görev COMPLETED (eski toplu onay)       → APPROVED (reviewed_at = görevin son güncellemesi)
+--   diğerleri                               → SUBMITTED
+-- Sonra kolon NOT NULL yapılır. İdempotent: sadece status'u NULL olan satırlara dokunur.
+UPDATE task_submissions s
+SET status = CASE
+        WHEN s.reviewed_at IS NOT NULL THEN 'APPROVED'
+        WHEN coalesce(s.notes, '') = '' AND coalesce(s.attachment_url, '') = '' THEN 'CLAIMED'
+        WHEN t.status = 'COMPLETED' THEN 'APPROVED'
+        ELSE 'SUBMITTED'
+    END,
+    reviewed_at = CASE
+        WHEN s.reviewed_at IS NULL AND t.status = 'COMPLETED'
+             AND (coalesce(s.notes, '') <> '' OR coalesce(s.attachment_url, '') <> '') THEN t.updated_at
+        ELSE s.reviewed_at
+    END,
+    updated_at = coalesce(s.updated_at, s.submitted_at)
+FROM tasks t
+WHERE t.id = s.task_id AND s.status IS NULL;
+UPDATE task_submissions SET status = 'CLAIMED' WHERE status IS NULL;
+ALTER TABLE task_submissions ALTER COLUMN status SET NOT NULL;
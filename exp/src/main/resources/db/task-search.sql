@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_tasks_fts ON tasks USING gin ((setweight(to_tsvector('simple', coalesce(title, '')), 'A') || setweight(to_tsvector('simple', coalesce(description, '')), 'B')));
@@ -0,0 +1,185 @@
+package com.bee.exp.config;
+
+import com.bee.exp.domain.IdempotencyRecord;
+import com.bee.exp.repository.IdempotencyRecordRepository;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+    private static final String BODY = "{\"title\":\"a\"}";
+
+    private IdempotencyRecordRepository repository;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        filter = new IdempotencyFilter(repository, Duration.ofHours(24), LEASE);
+    }
+
+    @Test
+    void firstRequestReservesAndStoresResponse() throws Exception {
+        when(repository.reserve(anyString(), any())).thenReturn(1);
+        MockFilterChain chain = new MockFilterChain(new RespondingServlet(201, "{\"id\":1}"));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("k1"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        verify(repository).complete(anyString(), any(), any(), eq(201), any(), any());
+        verify(repository, never()).takeOver(anyString(), any(), any());
+    }
+
+    @Test
+    void completedKeyIsReplayedWithoutCallingEndpoint() throws Exception {
+        when(repository.reserve(anyString(), any())).thenReturn(0);
+        when(repository.findById(anyString())).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .requestHash(md5(BODY))
+                .responseStatus(201).contentType("application/json").responseBody("{\"id\":1}".getBytes())
+                .createdAt(Instant.now()).build()));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("k1"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void reusedKeyWithDifferentBodyIsRejected() throws Exception {
+        when(repository.reserve(anyString(), any())).thenReturn(0);
+        when(repository.findById(anyString())).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .requestHash(md5(BODY))
+                .responseStatus(201).contentType("application/json").responseBody("{\"id\":1}".getBytes())
+                .createdAt(Instant.now()).build()));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = post("k1");
+        request.setContent("{\"title\":\"b\"}".getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getHeader("Idempotent-Replayed")).isNull();
+        assertThat(response.getContentAsString()).doesNotContain("\"id\"");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void storedHashCoversBodyEvenIfEndpointReadsOnlyPart() throws Exception {
+        when(repository.reserve(anyString(), any())).thenReturn(1);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                // Akışla okuyan endpoint gibi: birkaç byte'tan sonra bırakır
+                req.getInputStream().read(new byte[4]);
+                resp.setStatus(201);
+            }
+        });
+
+        filter.doFilter(post("k1"), new MockHttpServletResponse(), chain);
+
+        verify(repository).complete(anyString(), any(), eq(md5(BODY)), eq(201), any(), any());
+    }
+
+    @Test
+    void inProgressKeyWithinLeaseIsConflict() throws Exception {
+        when(repository.reserve(anyString(), any())).thenReturn(0);
+        when(repository.takeOver(anyString(), any(), any())).thenReturn(0);
+        when(repository.findById(anyString())).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .createdAt(Instant.now()).build()));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("k1"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(409);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void staleReservationIsTakenOverAfterLease() throws Exception {
+        when(repository.reserve(anyString(), any())).thenReturn(0);
+        when(repository.takeOver(anyString(), any(), any())).thenReturn(1);
+        MockFilterChain chain = new MockFilterChain(new RespondingServlet(201, "{}"));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("k1"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(chain.getRequest()).isNotNull();
+        verify(repository).takeOver(anyString(), any(), argThat(
+                staleBefore -> !staleBefore.isAfter(Instant.now().minus(LEASE))));
+        verify(repository).complete(anyString(), any(), any(), eq(201), any(), any());
+    }
+
+    @Test
+    void serverErrorReleasesOnlyOwnReservation() throws Exception {
+        when(repository.reserve(anyString(), any())).thenReturn(1);
+        MockFilterChain chain = new MockFilterChain(new RespondingServlet(503, "down"));
+
+        filter.doFilter(post("k1"), new MockHttpServletResponse(), chain);
+
+        verify(repository, never()).complete(anyString(), any(), any(), anyInt(), any(), any());
+        verify(repository).release(anyString(), any());
+        verify(repository, never()).deleteById(anyString());
+    }
+
+    private static MockHttpServletRequest post(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.addHeader("Authorization", "Bearer t");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String md5(String body) {
+        return DigestUtils.md5DigestAsHex(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class RespondingServlet extends HttpServlet {
+        private final int status;
+        private final String body;
+
+        RespondingServlet(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        @Override
+        protected void service(HttpServletRequest req,
+                               HttpServletResponse resp) throws IOException {
+            resp.setStatus(status);
+            resp.getWriter().write(body);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.bee.exp.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    @Test
+    void recordsStatementsPerRouteTemplate() throws Exception {
+        QueryCountFilter filter = new QueryCountFilter(20, meterRegistry);
+
+        run(filter, "/api/tasks/5/claim", "/api/tasks/{id}/claim", 3);
+        run(filter, "/api/tasks/6/claim", "/api/tasks/{id}/claim", 1);
+        run(filter, "/nope", null, 0);
+
+        DistributionSummary claim = summary("/api/tasks/{id}/claim");
+        assertThat(claim.count()).isEqualTo(2);
+        assertThat(claim.totalAmount()).isEqualTo(4);
+        assertThat(claim.max()).isEqualTo(3);
+        assertThat(summary("UNKNOWN").count()).isEqualTo(1);
+    }
+
+    @Test
+    void counterStartsFromZeroForEachRequestAndIsClearedAfter() throws Exception {
+        QueryCountFilter filter = new QueryCountFilter(0, meterRegistry);
+        // Önceki işten kalan sayı isteğe yansımamalı
+        inspector.inspect("select 1");
+
+        run(filter, "/api/tasks", "/api/tasks", 2);
+
+        assertThat(summary("/api/tasks").max()).isEqualTo(2);
+        assertThat(SqlStatementCounter.get()).isZero();
+    }
+
+    @Test
+    void methodsOnSameRouteAreSeparateSeries() throws Exception {
+        QueryCountFilter filter = new QueryCountFilter(0, meterRegistry);
+
+        run(filter, "GET", "/api/tasks/5", "/api/tasks/{id}", 1);
+        run(filter, "PUT", "/api/tasks/5", "/api/tasks/{id}", 4);
+
+        // Yük testi endpoint başına sql/req'i bu serilerden okur
+        assertThat(meterRegistry.get("http.server.requests.sql").tag("method", "GET").tag("uri", "/api/tasks/{id}")
+                .summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests.sql").tag("method", "PUT").tag("uri", "/api/tasks/{id}")
+                .summary().totalAmount()).isEqualTo(4);
+    }
+
+    @Test
+    void warnsOnlyAboveThreshold() throws Exception {
+        Logger log = (Logger) LoggerFactory.getLogger(QueryCountFilter.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        log.addAppender(appender);
+        try {
+            run(new QueryCountFilter(2, meterRegistry), "/api/tasks", "/api/tasks", 2);
+            run(new QueryCountFilter(2, meterRegistry), "/api/tasks", "/api/tasks", 3);
+            run(new QueryCountFilter(0, meterRegistry), "/api/tasks", "/api/tasks", 50);
+        } finally {
+            log.detachAppender(appender);
+        }
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("POST /api/tasks executed 3 SQL statements");
+        assertThat(summary("/api/tasks").count()).isEqualTo(3);
+    }
+
+    private void run(QueryCountFilter filter, String uri, String pattern, int statements) throws Exception {
+        run(filter, "POST", uri, pattern, statements);
+    }
+
+    private void run(QueryCountFilter filter, String method, String uri, String pattern, int statements)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                for (int i = 0; i < statements; i++) {
+                    inspector.inspect("select " + i);
+                }
+                if (pattern != null) {
+                    // DispatcherServlet handler eşleşince koyar
+                    req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+                }
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+    }
+
+    private DistributionSummary summary(String uri) {
+        return meterRegistry.get("http.server.requests.sql").tag("method", "POST").tag("uri", uri).summary();
+    }
+}
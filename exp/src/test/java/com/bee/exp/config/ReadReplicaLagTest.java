@@ -0,0 +1,119 @@
+package com.bee.exp.config;
+
+import com.bee.exp.domain.IdempotencyRecord;
+import com.bee.exp.domain.Role;
+import com.bee.exp.repository.IdempotencyRecordRepository;
+import com.bee.exp.web.AuthController;
+import com.bee.exp.web.dto.AuthResponse;
+import com.bee.exp.web.dto.LoginRequest;
+import com.bee.exp.web.dto.RegisterRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Okuma havuzu primary ile aynı H2 veritabanına bağlanır, ama önce "lag" şemasına bakar.
+ * Testte lag'de boş tablo kopyaları açılınca okuma havuzu o tablolarda son yazmaları görmez:
+ * replikasyon gecikmesinin yerine geçer. Diğer tablolar public'ten okunur.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rwrouting;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "app.jpa.sql-log-sample-rate=0",
+        "app.datasource.read.url=jdbc:h2:mem:rwrouting;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+                + "INIT=CREATE SCHEMA IF NOT EXISTS lag\\\\;SET SCHEMA lag",
+        "app.datasource.read.hikari.connection-init-sql=SET SCHEMA_SEARCH_PATH lag, public"
+})
+class ReadReplicaLagTest {
+
+    @Autowired
+    private AuthController authController;
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+    @Autowired
+    @Qualifier("readDataSource")
+    private DataSource read;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void lagReplica() {
+        jdbc = new JdbcTemplate(primary);
+        jdbc.execute("create schema if not exists lag");
+        jdbc.execute("create table lag.users as select * from public.users where 1 = 0");
+        jdbc.execute("create table lag.idempotency_keys as select * from public.idempotency_keys where 1 = 0");
+    }
+
+    @AfterEach
+    void catchUp() {
+        jdbc.execute("drop table lag.users");
+        jdbc.execute("drop table lag.idempotency_keys");
+    }
+
+    @Test
+    void loginRightAfterRegisterReadsPrimary() throws Exception {
+        String email = UUID.randomUUID() + "@test.dev";
+        RegisterRequest register = new RegisterRequest();
+        register.setEmail(email);
+        register.setPassword("secret-1");
+        register.setFullName("Ada");
+        register.setRole(Role.ENGINEER);
+        authController.register(register, http()).get(10, TimeUnit.SECONDS);
+
+        double readsBefore = reads();
+        LoginRequest login = new LoginRequest();
+        login.setEmail(email);
+        login.setPassword("secret-1");
+        AuthResponse response = authController.login(login, http()).get(10, TimeUnit.SECONDS).getBody();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(reads()).isEqualTo(readsBefore);
+        // Aynı e-postayla ikinci kayıt da gecikmeye takılmadan reddedilir
+        assertThatThrownBy(() -> authController.register(register, http())).hasMessage("Email already in use");
+        // Okuma havuzu kullanıcıyı gerçekten henüz görmüyor
+        assertThat(new JdbcTemplate(read).queryForObject(
+                "select count(*) from users where email = ?", Integer.class, email)).isZero();
+    }
+
+    @Test
+    void completedIdempotencyRecordIsReadFromPrimary() {
+        String id = UUID.randomUUID().toString().replace("-", "");
+        idempotencyRecordRepository.save(IdempotencyRecord.builder()
+                .id(id).responseStatus(201).createdAt(Instant.now()).build());
+
+        assertThat(idempotencyRecordRepository.findById(id))
+                .hasValueSatisfying(r -> assertThat(r.getResponseStatus()).isEqualTo(201));
+    }
+
+    private double reads() {
+        return meterRegistry.get("datasource.routing").tag("target", "read").counter().count();
+    }
+
+    private static MockHttpServletRequest http() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth");
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
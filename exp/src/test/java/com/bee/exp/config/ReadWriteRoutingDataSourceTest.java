@@ -0,0 +1,121 @@
+package com.bee.exp.config;
+
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource read = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection readConnection = mock(Connection.class);
+    private SimpleMeterRegistry meterRegistry;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(read.getConnection()).thenReturn(readConnection);
+        meterRegistry = new SimpleMeterRegistry();
+        routing = routing(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() throws Exception {
+        transaction(true);
+
+        assertThat(routing.getConnection()).isSameAs(readConnection);
+        assertThat(count("read")).isEqualTo(1);
+    }
+
+    @Test
+    void writesAndNonTransactionalAccessGoToPrimary() throws Exception {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        transaction(false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(count("primary")).isEqualTo(2);
+    }
+
+    @Test
+    void writerReadsStayOnPrimaryDuringStickyWindow() throws Exception {
+        login(7L);
+        transaction(false);
+        routing.getConnection();
+
+        transaction(true);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(count("primary-sticky")).isEqualTo(1);
+
+        // Başka kullanıcı etkilenmez
+        login(8L);
+        assertThat(routing.getConnection()).isSameAs(readConnection);
+    }
+
+    @Test
+    void stickinessExpiresAfterWindow() throws Exception {
+        routing = routing(Duration.ofMillis(50));
+        login(7L);
+        transaction(false);
+        routing.getConnection();
+
+        Thread.sleep(150);
+        transaction(true);
+        assertThat(routing.getConnection()).isSameAs(readConnection);
+    }
+
+    @Test
+    void backgroundWritesDoNotPinAnyone() throws Exception {
+        // Kullanıcısız yazma (scheduler, outbox) kimseyi primary'ye bağlamaz
+        transaction(false);
+        routing.getConnection();
+
+        login(7L);
+        transaction(true);
+        assertThat(routing.getConnection()).isSameAs(readConnection);
+    }
+
+    private ReadWriteRoutingDataSource routing(Duration stickyWindow) {
+        ReadWriteRoutingDataSource ds = new ReadWriteRoutingDataSource(primary, read, stickyWindow, meterRegistry);
+        ds.afterPropertiesSet();
+        return ds;
+    }
+
+    private static void transaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void login(Long userId) {
+        User user = User.builder().id(userId).role(Role.ENGINEER).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private double count(String target) {
+        return meterRegistry.get("datasource.routing").tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,79 @@
+package com.bee.exp.config;
+
+import com.bee.exp.domain.IdempotencyRecord;
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.IdempotencyRecordRepository;
+import com.bee.exp.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository proxy'lerine eklenen satır sayısı metriği, gerçek context'te.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "app.jpa.sql-log-sample-rate=0"
+})
+class RepositoryMetricsConfigTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void recordsRowsReturnedPerRepositoryMethod() {
+        User saved = userRepository.save(User.builder().email(UUID.randomUUID() + "@test.dev")
+                .passwordHash("x").role(Role.ENGINEER).fullName("Rows").build());
+        DistributionSummary existing = meterRegistry.find("spring.data.repository.rows")
+                .tag("repository", "UserRepository").tag("method", "findById").summary();
+        long before = existing != null ? existing.count() : 0;
+
+        userRepository.findById(saved.getId());
+        userRepository.findById(-1L);
+
+        DistributionSummary findById = rows("UserRepository", "findById");
+        assertThat(findById.count()).isEqualTo(before + 2);
+        assertThat(findById.max()).isEqualTo(1);
+
+        int all = userRepository.findAll().size();
+        assertThat(rows("UserRepository", "findAll").max()).isEqualTo(all);
+    }
+
+    @Test
+    void recordsAffectedRowsForModifyingQueriesOnly() {
+        Instant old = Instant.now().minusSeconds(3600);
+        idempotencyRecordRepository.save(IdempotencyRecord.builder().id(UUID.randomUUID().toString()).createdAt(old).build());
+        idempotencyRecordRepository.save(IdempotencyRecord.builder().id(UUID.randomUUID().toString()).createdAt(old).build());
+
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(old.plusSeconds(1));
+
+        assertThat(deleted).isGreaterThanOrEqualTo(2);
+        assertThat(rows("IdempotencyRecordRepository", "deleteCreatedBefore").max()).isEqualTo(deleted);
+
+        // count sonucu satır sayısı değil, kaydedilmez
+        userRepository.count();
+        assertThat(meterRegistry.find("spring.data.repository.rows").tag("method", "count").summary()).isNull();
+    }
+
+    private DistributionSummary rows(String repository, String method) {
+        return meterRegistry.get("spring.data.repository.rows")
+                .tag("repository", repository)
+                .tag("method", method)
+                .summary();
+    }
+}
@@ -0,0 +1,80 @@
+package com.bee.exp.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCounterTest {
+
+    private final Logger sqlLog = (Logger) LoggerFactory.getLogger("com.bee.exp.sql");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attach() {
+        appender.start();
+        sqlLog.addAppender(appender);
+        SqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void detach() {
+        sqlLog.detachAppender(appender);
+        SqlStatementCounter.clear();
+    }
+
+    @Test
+    void countsPerThreadAndReturnsSqlUnchanged() throws Exception {
+        SqlStatementCounter inspector = new SqlStatementCounter();
+
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+        inspector.inspect("select 2");
+        long otherThread = CompletableFuture.supplyAsync(() -> {
+            inspector.inspect("select 3");
+            return SqlStatementCounter.get();
+        }).get();
+
+        assertThat(SqlStatementCounter.get()).isEqualTo(2);
+        assertThat(otherThread).isEqualTo(1);
+    }
+
+    @Test
+    void zeroSampleRateLogsNothing() {
+        SqlStatementCounter inspector = new SqlStatementCounter(0);
+        for (int i = 0; i < 100; i++) {
+            inspector.inspect("select " + i);
+        }
+
+        assertThat(appender.list).isEmpty();
+        assertThat(SqlStatementCounter.get()).isEqualTo(100);
+    }
+
+    @Test
+    void fullSampleRateLogsEveryStatementWithItsPosition() {
+        SqlStatementCounter inspector = new SqlStatementCounter(1);
+
+        inspector.inspect("select a");
+        inspector.inspect("select b");
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("sql #1 in request: select a", "sql #2 in request: select b");
+    }
+
+    @Test
+    void partialSampleRateLogsASubset() {
+        SqlStatementCounter inspector = new SqlStatementCounter(0.1);
+        for (int i = 0; i < 2000; i++) {
+            inspector.inspect("select " + i);
+        }
+
+        // ~200 beklenir; rastgelelik için geniş aralık
+        assertThat(appender.list.size()).isBetween(100, 300);
+    }
+}
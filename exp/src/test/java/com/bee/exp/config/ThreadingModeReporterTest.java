@@ -0,0 +1,58 @@
+package com.bee.exp.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadingModeReporterTest {
+
+    private final Logger log = (Logger) LoggerFactory.getLogger(ThreadingModeReporter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final int javaVersion = Runtime.version().feature();
+
+    @BeforeEach
+    void attach() {
+        appender.start();
+        log.addAppender(appender);
+    }
+
+    @AfterEach
+    void detach() {
+        log.detachAppender(appender);
+    }
+
+    @Test
+    void defaultModeIsPlatform() {
+        new ThreadingModeReporter(false).report();
+
+        assertThat(appender.list).singleElement().satisfies(e -> {
+            assertThat(e.getLevel()).isEqualTo(Level.INFO);
+            assertThat(e.getFormattedMessage())
+                    .isEqualTo("Request threading mode: platform (Java " + javaVersion + ")");
+        });
+    }
+
+    @Test
+    void virtualRequestIsReportedOrWarnedByJvmVersion() {
+        new ThreadingModeReporter(true).report();
+
+        // Testi hangi JVM koşuyorsa o dalı doğrular
+        ILoggingEvent event = appender.list.get(0);
+        if (javaVersion >= 21) {
+            assertThat(event.getLevel()).isEqualTo(Level.INFO);
+            assertThat(event.getFormattedMessage()).contains("virtual");
+        } else {
+            assertThat(event.getLevel()).isEqualTo(Level.WARN);
+            assertThat(event.getFormattedMessage())
+                    .contains("Java " + javaVersion, "falling back to platform threads");
+        }
+        assertThat(appender.list).hasSize(1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.config.SqlStatementCounter;
+import com.bee.exp.domain.Company;
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * prod profilindeki 2. seviye cache + query cache ayarları, H2 üzerinde.
+ * Her okuma ayrı transaction'da (ayrı session) yapılır ki 1. seviye cache sonucu etkilemesin.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "app.jpa.sql-log-sample-rate=0",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=caffeine-jcache.conf"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private User owner;
+    private Company company;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        String suffix = UUID.randomUUID().toString();
+        owner = userRepository.save(User.builder()
+                .email(suffix + "@test.dev").passwordHash("x").role(Role.COMPANY).fullName("Owner").xp(0).build());
+        company = companyRepository.save(Company.builder().name("C " + suffix).owner(owner).build());
+    }
+
+    @Test
+    void entitiesByIdAreServedFromCache() {
+        statements(() -> companyRepository.findById(company.getId()));
+
+        assertThat(statements(() -> companyRepository.findById(company.getId()).orElseThrow().getName()))
+                .isZero();
+        assertThat(statements(() -> userRepository.findById(owner.getId()))).isZero();
+    }
+
+    @Test
+    void findByOwnerIsQueryCachedUntilCompaniesChange() {
+        statements(() -> companyRepository.findByOwner(owner));
+        assertThat(statements(() -> companyRepository.findByOwner(owner).orElseThrow().getId()))
+                .isZero();
+
+        // companies tablosuna yazma, sorgu sonucunu bayatlatır
+        User other = userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.dev").passwordHash("x").role(Role.COMPANY).build());
+        companyRepository.save(Company.builder().name("Other " + other.getId()).owner(other).build());
+
+        assertThat(statements(() -> companyRepository.findByOwner(owner))).isPositive();
+    }
+
+    @Test
+    void bulkXpUpdateEvictsCachedUser() {
+        statements(() -> userRepository.findById(owner.getId()));
+
+        tx.executeWithoutResult(st -> userRepository.incrementXp(owner.getId(), 50, 100, 300, 600, Instant.now()));
+
+        // Bayat xp dönmemeli: bölge temizlendi, satır tekrar okunur
+        assertThat(statements(() -> userRepository.findById(owner.getId()))).isPositive();
+        Integer xp = tx.execute(st -> userRepository.findById(owner.getId()).orElseThrow().getXp());
+        assertThat(xp).isEqualTo(50);
+    }
+
+    private long statements(Supplier<?> read) {
+        SqlStatementCounter.reset();
+        tx.execute(st -> read.get());
+        return SqlStatementCounter.get();
+    }
+}
@@ -0,0 +1,126 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.Company;
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.bee.exp.support.QueryCountAssertions.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Marketplace sayfası: sadece verilen filtreler uygulanır, id DESC keyset, ilişkiler tek SQL'de.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "app.jpa.sql-log-sample-rate=0"
+})
+class TaskRepositoryFindPageTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    private Company first;
+    private Company second;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString();
+        first = companyRepository.save(Company.builder().name("A " + suffix).owner(owner("a-" + suffix)).build());
+        second = companyRepository.save(Company.builder().name("B " + suffix).owner(owner("b-" + suffix)).build());
+
+        List<Task> batch = new ArrayList<>();
+        TaskDifficulty[] difficulties = TaskDifficulty.values();
+        for (int i = 0; i < 12; i++) {
+            batch.add(Task.builder()
+                    .title("Task " + i)
+                    .difficulty(difficulties[i % difficulties.length])
+                    .price(100 + i * 10)
+                    .status(i == 11 ? TaskStatus.CLAIMED : TaskStatus.PUBLISHED)
+                    .company(i % 2 == 0 ? first : second)
+                    .createdAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .build());
+        }
+        tasks = taskRepository.saveAll(batch);
+    }
+
+    private User owner(String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@test.dev").passwordHash("x").role(Role.COMPANY).fullName("Owner").build());
+    }
+
+    @Test
+    void appliesOnlyGivenFiltersInIdDescendingOrder() {
+        List<Task> page = taskRepository.findPage(TaskStatus.PUBLISHED, TaskDifficulty.EASY, 120, null,
+                first.getId(), null, 10);
+
+        // EASY: 0, 3, 6, 9; fiyat >= 120: 3, 6, 9; first şirketi (çift index): 6
+        assertThat(page).extracting(Task::getId).containsExactly(tasks.get(6).getId());
+    }
+
+    @Test
+    void keysetPagesFollowCursorAndLimit() {
+        List<Task> firstPage = taskRepository.findPage(TaskStatus.PUBLISHED, null, null, null,
+                second.getId(), null, 3);
+        List<Task> nextPage = taskRepository.findPage(TaskStatus.PUBLISHED, null, null, null,
+                second.getId(), firstPage.get(2).getId(), 3);
+
+        // second şirketi: 1, 3, 5, 7, 9 (11 CLAIMED)
+        assertThat(firstPage).extracting(Task::getId)
+                .containsExactly(tasks.get(9).getId(), tasks.get(7).getId(), tasks.get(5).getId());
+        assertThat(nextPage).extracting(Task::getId)
+                .containsExactly(tasks.get(3).getId(), tasks.get(1).getId());
+    }
+
+    @Test
+    void priceRangeAndStatus() {
+        List<Task> claimed = taskRepository.findPage(TaskStatus.CLAIMED, null, null, 1000, first.getId(), null, 10);
+        assertThat(claimed).isEmpty();
+        claimed = taskRepository.findPage(TaskStatus.CLAIMED, null, null, 1000, second.getId(), null, 10);
+        assertThat(claimed).extracting(Task::getId).containsExactly(tasks.get(11).getId());
+
+        List<Task> range = taskRepository.findPage(TaskStatus.PUBLISHED, null, 150, 170, second.getId(), null, 10);
+        assertThat(range).extracting(Task::getPrice).containsExactly(170, 150);
+    }
+
+    @Test
+    void loadsRelationsInSameStatement() {
+        List<Task> page = assertStatements(1, () -> {
+            List<Task> result = taskRepository.findPage(TaskStatus.PUBLISHED, null, null, null,
+                    first.getId(), null, 5);
+            // Transaction dışında erişim: fetch graph ile yüklenmemiş olsaydı LazyInitializationException
+            result.forEach(t -> t.getCompany().getOwner().getEmail());
+            return result;
+        });
+        assertThat(page).hasSize(5);
+    }
+
+    @Test
+    void publishedByDifficulty() {
+        List<Task> hard = taskRepository.findByStatusAndDifficulty(TaskStatus.PUBLISHED, TaskDifficulty.HARD);
+
+        assertThat(hard).extracting(Task::getId)
+                .contains(tasks.get(2).getId(), tasks.get(5).getId(), tasks.get(8).getId())
+                .doesNotContain(tasks.get(11).getId(), tasks.get(0).getId());
+    }
+}
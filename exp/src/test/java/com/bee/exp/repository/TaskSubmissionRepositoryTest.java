@@ -0,0 +1,140 @@
+package com.bee.exp.repository;
+
+import com.bee.exp.domain.Company;
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.domain.TaskSubmission;
+import com.bee.exp.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Submission durum geçişleri koşullu UPDATE'lerle yapılır; dönen satır sayısı eşzamanlı değişikliği gösterir.
+ * Claim insert'i (ON CONFLICT) Postgres'e özgü, H2'de çalışmaz; burada satırlar doğrudan kaydedilir.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "app.jpa.sql-log-sample-rate=0"
+})
+class TaskSubmissionRepositoryTest {
+
+    @Autowired
+    private TaskSubmissionRepository taskSubmissionRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private User engineer;
+    private Task task;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        String suffix = UUID.randomUUID().toString();
+        User owner = user("owner-" + suffix, Role.COMPANY);
+        engineer = user("eng-" + suffix, Role.ENGINEER);
+        Company company = companyRepository.save(Company.builder().name("C " + suffix).owner(owner).build());
+        task = taskRepository.save(Task.builder()
+                .title("Task").difficulty(TaskDifficulty.EASY).price(100).status(TaskStatus.PUBLISHED)
+                .company(company).createdAt(Instant.now()).updatedAt(Instant.now()).build());
+    }
+
+    private User user(String name, Role role) {
+        return userRepository.save(User.builder()
+                .email(name + "@test.dev").passwordHash("x").role(role).fullName(name).build());
+    }
+
+    @Test
+    void resubmitUpdatesRowButNeverAnApprovedOne() {
+        TaskSubmission s = submission(SubmissionStatus.CLAIMED);
+
+        assertThat(updateSubmission("v1")).isEqualTo(1);
+        assertThat(updateSubmission("v2")).isEqualTo(1);
+        TaskSubmission submitted = taskSubmissionRepository.findById(s.getId()).orElseThrow();
+        assertThat(submitted.getStatus()).isEqualTo(SubmissionStatus.SUBMITTED);
+        assertThat(submitted.getNotes()).isEqualTo("v2");
+        assertThat(submitted.getVersion()).isEqualTo(s.getVersion() + 2);
+
+        tx.executeWithoutResult(st -> taskSubmissionRepository.updateStatus(List.of(s.getId()),
+                SubmissionStatus.SUBMITTED, SubmissionStatus.APPROVED, Instant.now()));
+        assertThat(updateSubmission("v3")).isZero();
+        assertThat(taskSubmissionRepository.findById(s.getId()).orElseThrow().getNotes()).isEqualTo("v2");
+    }
+
+    @Test
+    void statusTransitionCountsOnlyRowsStillInFromState() {
+        TaskSubmission pending = submission(SubmissionStatus.SUBMITTED);
+
+        Integer first = tx.execute(st -> taskSubmissionRepository.updateStatus(List.of(pending.getId()),
+                SubmissionStatus.SUBMITTED, SubmissionStatus.REJECTED, Instant.now()));
+        // İkinci onay isteği: satır artık SUBMITTED değil
+        Integer second = tx.execute(st -> taskSubmissionRepository.updateStatus(List.of(pending.getId()),
+                SubmissionStatus.SUBMITTED, SubmissionStatus.APPROVED, Instant.now()));
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(taskSubmissionRepository.findById(pending.getId()).orElseThrow().getStatus())
+                .isEqualTo(SubmissionStatus.REJECTED);
+    }
+
+    @Test
+    void staleEntityCannotOverwriteBulkUpdate() {
+        TaskSubmission pending = submission(SubmissionStatus.SUBMITTED);
+        TaskSubmission stale = taskSubmissionRepository.findById(pending.getId()).orElseThrow();
+
+        tx.executeWithoutResult(st -> taskSubmissionRepository.updateStatus(List.of(pending.getId()),
+                SubmissionStatus.SUBMITTED, SubmissionStatus.APPROVED, Instant.now()));
+
+        // Bulk UPDATE version'ı artırır: eski kopya ile red, onayı ezemez
+        stale.setStatus(SubmissionStatus.REJECTED);
+        assertThatThrownBy(() -> taskSubmissionRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(taskSubmissionRepository.findById(pending.getId()).orElseThrow().getStatus())
+                .isEqualTo(SubmissionStatus.APPROVED);
+    }
+
+    @Test
+    void sameEngineerCannotHoldTwoRowsForATask() {
+        submission(SubmissionStatus.CLAIMED);
+
+        assertThatThrownBy(() -> submission(SubmissionStatus.CLAIMED))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(taskSubmissionRepository.findStatus(task.getId(), engineer.getId()))
+                .contains(SubmissionStatus.CLAIMED);
+    }
+
+    private TaskSubmission submission(SubmissionStatus status) {
+        return taskSubmissionRepository.save(TaskSubmission.builder()
+                .task(task).engineer(engineer).status(status).build());
+    }
+
+    private int updateSubmission(String notes) {
+        return tx.execute(st -> taskSubmissionRepository.updateSubmission(
+                task.getId(), engineer.getId(), notes, null, Instant.now()));
+    }
+}
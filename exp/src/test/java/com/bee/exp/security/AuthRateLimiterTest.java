@@ -0,0 +1,35 @@
+package com.bee.exp.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthRateLimiterTest {
+
+    @Test
+    void ipLimitIsPerAddress() {
+        AuthRateLimiter limiter = new AuthRateLimiter(2, 100, Duration.ofMinutes(1));
+
+        limiter.check("10.0.0.1", null);
+        limiter.check("10.0.0.1", null);
+
+        assertThatThrownBy(() -> limiter.check("10.0.0.1", null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("429");
+        assertThatCode(() -> limiter.check("10.0.0.2", null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void emailLimitIgnoresCaseAndWhitespace() {
+        AuthRateLimiter limiter = new AuthRateLimiter(100, 1, Duration.ofMinutes(1));
+
+        limiter.check("10.0.0.1", "Ayse@Example.com");
+
+        assertThatThrownBy(() -> limiter.check("10.0.0.2", " ayse@example.com "))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.bee.exp.security;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void incomingIdIsUsedForLogsAndEchoed() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String seen = run(request("req-42.a_B"), response);
+
+        assertThat(seen).isEqualTo("req-42.a_B");
+        assertThat(response.getHeader(CorrelationIdFilter.HEADER)).isEqualTo("req-42.a_B");
+        // İstek bitince thread'de kalmamalı
+        assertThat(MDC.get(CorrelationIdFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void missingOrUnsafeIdIsReplaced() throws Exception {
+        for (String incoming : new String[]{null, "", "bad id\nFAKE LOG LINE", "x".repeat(65)}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            String seen = run(request(incoming), response);
+
+            assertThat(seen).isNotEqualTo(incoming).matches("[0-9a-f-]{36}");
+            assertThat(response.getHeader(CorrelationIdFilter.HEADER)).isEqualTo(seen);
+        }
+    }
+
+    @Test
+    void eachRequestGetsItsOwnId() throws Exception {
+        String first = run(request(null), new MockHttpServletResponse());
+        String second = run(request(null), new MockHttpServletResponse());
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    private String run(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                seen.set(MDC.get(CorrelationIdFilter.MDC_KEY));
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return seen.get();
+    }
+
+    private static MockHttpServletRequest request(String id) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        if (id != null) {
+            request.addHeader(CorrelationIdFilter.HEADER, id);
+        }
+        return request;
+    }
+}
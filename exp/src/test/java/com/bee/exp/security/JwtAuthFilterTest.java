@@ -0,0 +1,159 @@
+package com.bee.exp.security;
+
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.UserRepository;
+import com.bee.exp.service.XpGrantedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthFilterTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil("test-secret-test-secret-test-secret-32", 60_000);
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void principalIsBuiltFromClaimsWithoutDatabase() throws Exception {
+        String token = jwtUtil.generateToken(7L, Role.ENGINEER, "ada@x.dev", "Ada");
+
+        filter(false).doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        User user = (User) auth.getPrincipal();
+        assertThat(user.getId()).isEqualTo(7L);
+        assertThat(user.getRole()).isEqualTo(Role.ENGINEER);
+        assertThat(user.getEmail()).isEqualTo("ada@x.dev");
+        assertThat(user.getFullName()).isEqualTo("Ada");
+        assertThat(auth.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ENGINEER");
+        verify(userRepository, never()).findById(any());
+        assertThat(count("valid")).isEqualTo(1);
+        // Claim modunda kullanıcıya bakılmadığı için bu sonuç hiç yayınlanmaz
+        assertThat(meterRegistry.find("auth.jwt").tag("outcome", "user_missing").counter()).isNull();
+    }
+
+    @Test
+    void enabledCacheLoadsUserOncePerTtl() throws Exception {
+        User stored = User.builder().id(7L).role(Role.ENGINEER).email("ada@x.dev").xp(120).build();
+        when(userRepository.findById(7L)).thenReturn(Optional.of(stored));
+        JwtAuthFilter filter = filter(true);
+        String token = jwtUtil.generateToken(7L, Role.ENGINEER, "ada@x.dev", "Ada");
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(stored);
+        verify(userRepository, times(1)).findById(7L);
+        assertThat(count("valid")).isEqualTo(3);
+    }
+
+    @Test
+    void xpGrantEvictsCachedUserAfterCommit() throws Exception {
+        when(userRepository.findById(7L)).thenReturn(
+                Optional.of(User.builder().id(7L).role(Role.ENGINEER).xp(10).build()),
+                Optional.of(User.builder().id(7L).role(Role.ENGINEER).xp(60).build()));
+        AuthUserCache cache = new AuthUserCache(userRepository, meterRegistry, true, 100, Duration.ofMinutes(5));
+        cache.get(7L);
+
+        cache.onXpGranted(new XpGrantedEvent(7L, 50, null, null));
+
+        assertThat(cache.get(7L)).hasValueSatisfying(u -> assertThat(u.getXp()).isEqualTo(60));
+        // Transaction içinde evict edilirse eşzamanlı istek eski xp'yi geri cache'leyebilir
+        TransactionalEventListener listener = AuthUserCache.class
+                .getMethod("onXpGranted", XpGrantedEvent.class).getAnnotation(TransactionalEventListener.class);
+        assertThat(listener.phase()).isEqualTo(TransactionPhase.AFTER_COMMIT);
+    }
+
+    @Test
+    void deletedUserIsNotAuthenticated() throws Exception {
+        when(userRepository.findById(7L)).thenReturn(Optional.empty());
+
+        filter(true).doFilter(request(jwtUtil.generateToken(7L, Role.ENGINEER, "a", "b")),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(count("user_missing")).isEqualTo(1);
+    }
+
+    @Test
+    void expiredAndForgedTokensAreCountedAndIgnored() throws Exception {
+        JwtUtil expiredIssuer = new JwtUtil("test-secret-test-secret-test-secret-32", -1_000);
+        JwtUtil otherKey = new JwtUtil("another-secret-another-secret-another-32", 60_000);
+        JwtAuthFilter filter = filter(false);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(expiredIssuer.generateToken(7L, Role.ENGINEER, "a", "b")),
+                new MockHttpServletResponse(), chain);
+        filter.doFilter(request(otherKey.generateToken(7L, Role.COMPANY, "a", "b")),
+                new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("not-a-jwt"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(count("expired")).isEqualTo(1);
+        assertThat(count("invalid")).isEqualTo(2);
+        // Geçersiz token isteği kesmez; yetki kararını security zinciri verir
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void requestsWithoutBearerAreNotCounted() throws Exception {
+        MockHttpServletRequest basic = new MockHttpServletRequest("GET", "/api/tasks");
+        basic.addHeader("Authorization", "Basic abc");
+
+        filter(false).doFilter(basic, new MockHttpServletResponse(), new MockFilterChain());
+        filter(false).doFilter(new MockHttpServletRequest("GET", "/api/tasks"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.get("auth.jwt").counters()).allMatch(c -> c.count() == 0);
+    }
+
+    private JwtAuthFilter filter(boolean cacheEnabled) {
+        AuthUserCache cache = new AuthUserCache(userRepository, meterRegistry, cacheEnabled, 100, Duration.ofMinutes(5));
+        return new JwtAuthFilter(jwtUtil, cache, meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("auth.jwt").tag("outcome", outcome).counter().count();
+    }
+}
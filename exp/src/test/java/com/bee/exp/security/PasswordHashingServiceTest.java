@@ -0,0 +1,112 @@
+package com.bee.exp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+
+    private PasswordHashingService create(int strength, int threads, int queueCapacity) {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(strength), new SimpleMeterRegistry(),
+                strength, threads, queueCapacity);
+        return service;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void hashIsVerifiedOnExecutor() throws Exception {
+        PasswordHashingService hashing = create(4, 1, 10);
+
+        String hash = hashing.encode("secret").get(5, TimeUnit.SECONDS);
+
+        assertThat(hashing.matches("secret", hash).get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(hashing.matches("wrong", hash).get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    void rehashIsNeededWhenCostWasRaisedOrLowered() {
+        PasswordHashingService hashing = create(5, 1, 10);
+
+        assertThat(hashing.needsRehash(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(hashing.needsRehash(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+        assertThat(hashing.needsRehash(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+    }
+
+    @Test
+    void nonBcryptHashIsLeftAlone() {
+        PasswordHashingService hashing = create(4, 1, 10);
+
+        assertThat(hashing.needsRehash(null)).isFalse();
+        assertThat(hashing.needsRehash("plain-text")).isFalse();
+    }
+
+    @Test
+    void correlationIdFollowsWorkOntoExecutor() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                seen.set(MDC.get(CorrelationIdFilter.MDC_KEY));
+                return super.encode(rawPassword);
+            }
+        }, new SimpleMeterRegistry(), 4, 1, 10);
+
+        MDC.put(CorrelationIdFilter.MDC_KEY, "req-1");
+        try {
+            service.encode("secret").get(5, TimeUnit.SECONDS);
+        } finally {
+            MDC.remove(CorrelationIdFilter.MDC_KEY);
+        }
+        assertThat(seen).hasValue("req-1");
+
+        // Havuz thread'i bir sonraki işe eski id'yi taşımamalı
+        service.encode("secret").get(5, TimeUnit.SECONDS);
+        assertThat(seen.get()).isNull();
+    }
+
+    @Test
+    void fullQueueIsRejectedWith503() {
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHashingService hashing = new PasswordHashingService(slow, new SimpleMeterRegistry(), 4, 1, 1);
+        service = hashing;
+
+        try {
+            hashing.encode("a");    // çalışan
+            hashing.encode("b");    // kuyrukta
+            assertThatThrownBy(() -> hashing.encode("c"))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .hasMessageContaining("503");
+        } finally {
+            release.countDown();
+        }
+    }
+}
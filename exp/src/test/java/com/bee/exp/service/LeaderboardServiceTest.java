@@ -0,0 +1,81 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.repository.XpLedgerRepository;
+import com.bee.exp.repository.XpTotalView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaderboardServiceTest {
+
+    record Total(Long userId, Long companyId, TaskDifficulty difficulty, Long total) implements XpTotalView {
+        public Long getUserId() { return userId; }
+        public Long getCompanyId() { return companyId; }
+        public TaskDifficulty getDifficulty() { return difficulty; }
+        public Long getTotal() { return total; }
+    }
+
+    private XpLedgerRepository ledger;
+    private LeaderboardService service;
+
+    @BeforeEach
+    void setUp() {
+        ledger = mock(XpLedgerRepository.class);
+        service = new LeaderboardService(ledger);
+    }
+
+    @Test
+    void rebuildPicksUpGrantsMadeElsewhere() {
+        when(ledger.sumAmountsSince(any())).thenReturn(List.of(new Total(1L, 10L, TaskDifficulty.EASY, 100L)));
+        service.rebuild();
+
+        // Başka bir instance 2'ye XP verdi; bu instance olayı hiç görmedi
+        when(ledger.sumAmountsSince(any())).thenReturn(List.of(
+                new Total(1L, 10L, TaskDifficulty.EASY, 100L),
+                new Total(2L, 10L, TaskDifficulty.HARD, 250L)));
+        service.rebuild();
+
+        assertThat(service.top(LeaderboardWindow.ALL_TIME, null, null, 0, 10))
+                .containsExactly(new LeaderboardService.LeaderboardEntry(1, 2L, 250L),
+                        new LeaderboardService.LeaderboardEntry(2, 1L, 100L));
+        assertThat(service.rankOf(2L, LeaderboardWindow.ALL_TIME, 10L, TaskDifficulty.HARD))
+                .isEqualTo(new LeaderboardService.LeaderboardEntry(1, 2L, 250L));
+    }
+
+    @Test
+    void rebuildReplacesDriftedLocalScores() {
+        when(ledger.sumAmountsSince(any())).thenReturn(List.of());
+        service.rebuild();
+        // Yerelde işlenmiş ama ledger'da olmayan (ör. geri alınmış) bir olay
+        service.onXpGranted(new XpGrantedEvent(3L, 40, 10L, TaskDifficulty.MEDIUM));
+        assertThat(service.size(LeaderboardWindow.ALL_TIME, null, null)).isEqualTo(1);
+
+        service.rebuild();
+
+        assertThat(service.size(LeaderboardWindow.ALL_TIME, null, null)).isZero();
+        assertThat(service.rankOf(3L, LeaderboardWindow.ALL_TIME, null, null)).isNull();
+    }
+
+    @Test
+    void grantUpdatesAllScopes() {
+        when(ledger.sumAmountsSince(any())).thenReturn(List.of());
+        service.rebuild();
+
+        service.onXpGranted(new XpGrantedEvent(5L, 30, 10L, TaskDifficulty.MEDIUM));
+
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            assertThat(service.rankOf(5L, window, null, null).xp()).isEqualTo(30);
+            assertThat(service.rankOf(5L, window, 10L, null).xp()).isEqualTo(30);
+            assertThat(service.rankOf(5L, window, null, TaskDifficulty.MEDIUM).xp()).isEqualTo(30);
+            assertThat(service.rankOf(5L, window, 10L, TaskDifficulty.MEDIUM).xp()).isEqualTo(30);
+            assertThat(service.rankOf(5L, window, 11L, null)).isNull();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.OutboxEvent;
+import com.bee.exp.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dispatcher kendi thread'inde çalışır; doğrulamalar timeout ile beklenir.
+ * Transaction manager mock: commit/rollback davranışı yok, sadece hata yolu (batch → tek tek) test edilir.
+ */
+class OutboxDispatcherTest {
+
+    private static final long WAIT_MS = 2000;
+
+    // "bad" payload'lı olay içeren her listede patlar
+    static class RecordingHandler implements OutboxHandler {
+        final List<List<Long>> calls = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String eventType() {
+            return "TEST";
+        }
+
+        @Override
+        public void handle(List<OutboxEvent> events) {
+            calls.add(events.stream().map(OutboxEvent::getId).toList());
+            if (events.stream().anyMatch(e -> "bad".equals(e.getPayload()))) {
+                throw new IllegalStateException("boom");
+            }
+        }
+    }
+
+    private OutboxEventRepository repository;
+    private RecordingHandler handler;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        handler = new RecordingHandler();
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new OutboxDispatcher(repository, mock(PlatformTransactionManager.class), List.of(handler),
+                meterRegistry, 100, 3, Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void batchIsHandledTogetherAndMarkedProcessed() throws InterruptedException {
+        OutboxEvent first = event(1L, "TEST", "ok", 0);
+        OutboxEvent second = event(2L, "TEST", "ok", 0);
+        batch(first, second);
+
+        dispatcher.trigger();
+
+        verify(repository, timeout(WAIT_MS)).lockNextBatch(any(), eq(100));
+        awaitCount("processed", 2);
+        assertThat(handler.calls).containsExactly(List.of(1L, 2L));
+        assertThat(first.getProcessedAt()).isNotNull();
+        assertThat(second.getProcessedAt()).isNotNull();
+        verify(repository, never()).recordFailure(anyLong(), anyInt(), any(), anyString(), any());
+    }
+
+    @Test
+    void failingEventIsRetriedAloneWithBackoff() throws InterruptedException {
+        OutboxEvent good = event(1L, "TEST", "ok", 0);
+        OutboxEvent bad = event(2L, "TEST", "bad", 0);
+        batch(good, bad);
+        when(repository.lockPending(1L)).thenReturn(Optional.of(good));
+        when(repository.lockPending(2L)).thenReturn(Optional.of(bad));
+        Instant before = Instant.now();
+
+        dispatcher.trigger();
+
+        ArgumentCaptor<Instant> next = ArgumentCaptor.forClass(Instant.class);
+        verify(repository, timeout(WAIT_MS)).recordFailure(eq(2L), eq(1), next.capture(),
+                eq("java.lang.IllegalStateException: boom"), isNull());
+        // İlk hata: retry-backoff * 2^0
+        assertThat(next.getValue()).isBetween(before.plusSeconds(1), Instant.now().plusSeconds(1));
+
+        awaitCount("retried", 1);
+        awaitCount("processed", 1);
+        assertThat(handler.calls).containsExactly(List.of(1L, 2L), List.of(1L), List.of(2L));
+        assertThat(good.getProcessedAt()).isNotNull();
+        assertThat(bad.getProcessedAt()).isNull();
+        verify(repository, never()).recordFailure(eq(1L), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void backoffDoublesUpToMax() {
+        // 2. deneme de patlıyor: 1s * 2^1 = 2s (max 3s'nin altında)
+        OutboxEvent bad = event(5L, "TEST", "bad", 1);
+        batch(bad);
+        when(repository.lockPending(5L)).thenReturn(Optional.of(bad));
+        Instant before = Instant.now();
+
+        dispatcher.trigger();
+
+        ArgumentCaptor<Instant> next = ArgumentCaptor.forClass(Instant.class);
+        verify(repository, timeout(WAIT_MS)).recordFailure(eq(5L), eq(2), next.capture(), anyString(), isNull());
+        assertThat(next.getValue()).isBetween(before.plusSeconds(2), Instant.now().plusSeconds(2));
+    }
+
+    @Test
+    void lastAttemptDeadLettersTheEvent() throws InterruptedException {
+        OutboxEvent bad = event(7L, "TEST", "bad", 2);
+        batch(bad);
+        when(repository.lockPending(7L)).thenReturn(Optional.of(bad));
+        Instant before = Instant.now();
+
+        dispatcher.trigger();
+
+        ArgumentCaptor<Instant> failedAt = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> next = ArgumentCaptor.forClass(Instant.class);
+        verify(repository, timeout(WAIT_MS)).recordFailure(eq(7L), eq(3), next.capture(), anyString(),
+                failedAt.capture());
+        assertThat(failedAt.getValue()).isBetween(before, Instant.now());
+        // 1s * 2^2 = 4s → max-retry-backoff 3s ile sınırlı
+        assertThat(Duration.between(failedAt.getValue(), next.getValue())).isEqualTo(Duration.ofSeconds(3));
+        awaitCount("dead", 1);
+        assertThat(count("retried")).isZero();
+    }
+
+    @Test
+    void eventWithoutHandlerIsRecordedAsFailure() {
+        OutboxEvent orphan = event(9L, "UNKNOWN", "ok", 0);
+        batch(orphan);
+        when(repository.lockPending(9L)).thenReturn(Optional.of(orphan));
+
+        dispatcher.trigger();
+
+        verify(repository, timeout(WAIT_MS)).recordFailure(eq(9L), eq(1), notNull(),
+                eq("java.lang.RuntimeException: No outbox handler for UNKNOWN"), isNull());
+        assertThat(handler.calls).isEmpty();
+    }
+
+    @Test
+    void eventTakenByAnotherInstanceIsSkipped() {
+        OutboxEvent bad = event(11L, "TEST", "bad", 0);
+        batch(bad);
+        // Tek tek denemede kilit alınamadı: başka instance işliyor
+        when(repository.lockPending(11L)).thenReturn(Optional.empty());
+
+        dispatcher.trigger();
+
+        verify(repository, timeout(WAIT_MS)).lockPending(11L);
+        verify(repository, after(200).never()).recordFailure(anyLong(), anyInt(), any(), any(), any());
+        assertThat(handler.calls).containsExactly(List.of(11L));
+    }
+
+    @Test
+    void duplicateHandlersAreRejected() {
+        List<OutboxHandler> twice = List.of(new RecordingHandler(), new RecordingHandler());
+
+        assertThatThrownBy(() -> new OutboxDispatcher(repository,
+                        mock(PlatformTransactionManager.class), twice, meterRegistry,
+                        100, 3, Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ofDays(7)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("TEST");
+    }
+
+    // İlk çağrıda verilen olaylar, sonra boş
+    private void batch(OutboxEvent... events) {
+        when(repository.lockNextBatch(any(), anyInt()))
+                .thenReturn(new ArrayList<>(List.of(events)))
+                .thenReturn(List.of());
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("outbox.events").tag("outcome", outcome).counter().count();
+    }
+
+    private void awaitCount(String outcome, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (count(outcome) < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(count(outcome)).isEqualTo(expected);
+    }
+
+    private static OutboxEvent event(long id, String type, String payload, int attempts) {
+        Instant now = Instant.now();
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType("submission")
+                .aggregateId(id)
+                .eventType(type)
+                .payload(payload)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .attempts(attempts)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.bee.exp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RankedScoreIndexTest {
+
+    @Test
+    void ranksByScoreDescending() {
+        RankedScoreIndex index = new RankedScoreIndex();
+        index.add(1, 10);
+        index.add(2, 30);
+        index.add(3, 20);
+
+        assertThat(index.range(0, 10))
+                .extracting(RankedScoreIndex.Ranked::userId, RankedScoreIndex.Ranked::score, RankedScoreIndex.Ranked::rank)
+                .containsExactly(tuple(2L, 30L, 1), tuple(3L, 20L, 2), tuple(1L, 10L, 3));
+        assertThat(index.rankOf(1).rank()).isEqualTo(3);
+        assertThat(index.rankOf(99)).isNull();
+    }
+
+    @Test
+    void tiesAreOrderedBySmallerUserIdFirst() {
+        RankedScoreIndex index = new RankedScoreIndex();
+        index.add(7, 50);
+        index.add(3, 50);
+        index.add(5, 50);
+
+        assertThat(index.range(0, 3)).extracting(RankedScoreIndex.Ranked::userId).containsExactly(3L, 5L, 7L);
+        assertThat(index.rankOf(5).rank()).isEqualTo(2);
+        assertThat(index.rankOf(7).rank()).isEqualTo(3);
+    }
+
+    @Test
+    void updateRemovesOldPosition() {
+        RankedScoreIndex index = new RankedScoreIndex();
+        index.add(1, 10);
+        index.add(2, 20);
+
+        assertThat(index.add(1, 15)).isEqualTo(25);
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.range(0, 10))
+                .extracting(RankedScoreIndex.Ranked::userId, RankedScoreIndex.Ranked::score)
+                .containsExactly(tuple(1L, 25L), tuple(2L, 20L));
+
+        // Negatif delta (geri alma) kullanıcıyı aşağı taşır, eski düğüm kalmaz
+        index.add(1, -20);
+        assertThat(index.range(0, 10))
+                .extracting(RankedScoreIndex.Ranked::userId, RankedScoreIndex.Ranked::score)
+                .containsExactly(tuple(2L, 20L), tuple(1L, 5L));
+    }
+
+    @Test
+    void rangeHonoursOffsetAndLimit() {
+        RankedScoreIndex index = new RankedScoreIndex();
+        for (long u = 1; u <= 10; u++) {
+            index.add(u, u * 10);
+        }
+
+        assertThat(index.range(3, 2))
+                .extracting(RankedScoreIndex.Ranked::userId, RankedScoreIndex.Ranked::rank)
+                .containsExactly(tuple(7L, 4), tuple(6L, 5));
+        assertThat(index.range(9, 5)).extracting(RankedScoreIndex.Ranked::userId).containsExactly(1L);
+        assertThat(index.range(10, 5)).isEmpty();
+        assertThat(index.range(0, 0)).isEmpty();
+    }
+
+    @Test
+    void matchesSortedModelUnderRandomUpdates() {
+        RankedScoreIndex index = new RankedScoreIndex();
+        Map<Long, Long> model = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            long user = random.nextInt(200);
+            long delta = random.nextInt(100) - 20;
+            index.add(user, delta);
+            model.merge(user, delta, Long::sum);
+        }
+
+        List<Map.Entry<Long, Long>> expected = new ArrayList<>(model.entrySet());
+        expected.sort(Comparator.<Map.Entry<Long, Long>>comparingLong(Map.Entry::getValue).reversed()
+                .thenComparingLong(Map.Entry::getKey));
+
+        List<RankedScoreIndex.Ranked> all = index.range(0, model.size());
+        assertThat(all).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Map.Entry<Long, Long> e = expected.get(i);
+            assertThat(all.get(i)).isEqualTo(new RankedScoreIndex.Ranked(e.getKey(), e.getValue(), i + 1));
+            assertThat(index.rankOf(e.getKey()).rank()).isEqualTo(i + 1);
+        }
+    }
+}
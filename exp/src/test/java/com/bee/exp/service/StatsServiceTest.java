@@ -0,0 +1,168 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.repository.SubmissionStatusCountView;
+import com.bee.exp.repository.TaskRepository;
+import com.bee.exp.repository.TaskStatusCountView;
+import com.bee.exp.repository.TaskSubmissionRepository;
+import com.bee.exp.repository.XpLedgerRepository;
+import com.bee.exp.repository.XpTotalView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatsServiceTest {
+
+    private TaskRepository taskRepository;
+    private TaskSubmissionRepository submissionRepository;
+    private XpLedgerRepository xpLedgerRepository;
+    private StatsService stats;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        submissionRepository = mock(TaskSubmissionRepository.class);
+        xpLedgerRepository = mock(XpLedgerRepository.class);
+        when(xpLedgerRepository.sumAmountsSince(any())).thenReturn(List.of());
+        stats = new StatsService(taskRepository, submissionRepository, xpLedgerRepository);
+    }
+
+    private record TaskCount(Long getCompanyId, TaskStatus getStatus, long getTotal) implements TaskStatusCountView {
+    }
+
+    private record SubmissionCount(Long getId, Long getCompanyId, SubmissionStatus getStatus, long getTotal)
+            implements SubmissionStatusCountView {
+    }
+
+    private record XpTotal(Long getUserId, Long getCompanyId, TaskDifficulty getDifficulty, Long getTotal)
+            implements XpTotalView {
+    }
+
+    private static TaskStatusCountView taskCount(Long companyId, TaskStatus status, long total) {
+        return new TaskCount(companyId, status, total);
+    }
+
+    private static SubmissionStatusCountView submissionCount(Long id, Long companyId, SubmissionStatus status, long total) {
+        return new SubmissionCount(id, companyId, status, total);
+    }
+
+    @Test
+    void reconcileCountsByStatus() {
+        when(taskRepository.countByCompanyAndStatus()).thenReturn(List.of(
+                taskCount(1L, TaskStatus.PUBLISHED, 3), taskCount(1L, TaskStatus.COMPLETED, 2)));
+        when(submissionRepository.countByTaskAndStatus()).thenReturn(List.of(
+                submissionCount(10L, 1L, SubmissionStatus.SUBMITTED, 4)));
+        when(submissionRepository.countByEngineerAndStatus()).thenReturn(List.of(
+                submissionCount(7L, null, SubmissionStatus.SUBMITTED, 4)));
+
+        stats.reconcile();
+
+        assertThat(stats.companyStats(1L).tasksByStatus())
+                .containsEntry(TaskStatus.PUBLISHED, 3L)
+                .containsEntry(TaskStatus.COMPLETED, 2L);
+        assertThat(stats.companyStats(1L).submissionsByStatus()).containsEntry(SubmissionStatus.SUBMITTED, 4L);
+        assertThat(stats.taskStats(10L).submissionsByStatus()).containsEntry(SubmissionStatus.SUBMITTED, 4L);
+        assertThat(stats.engineerStats(7L).submissionsByStatus()).containsEntry(SubmissionStatus.SUBMITTED, 4L);
+    }
+
+    @Test
+    void rowsWithoutStatusAreSkippedInsteadOfFailingStartup() {
+        when(taskRepository.countByCompanyAndStatus()).thenReturn(List.of(taskCount(1L, null, 5)));
+        when(submissionRepository.countByTaskAndStatus()).thenReturn(List.of(
+                submissionCount(10L, 1L, null, 2), submissionCount(10L, 1L, SubmissionStatus.CLAIMED, 1)));
+        when(submissionRepository.countByEngineerAndStatus()).thenReturn(List.of(
+                submissionCount(7L, null, null, 2)));
+
+        stats.reconcile();
+
+        assertThat(stats.taskStats(10L).submissionsByStatus())
+                .containsEntry(SubmissionStatus.CLAIMED, 1L)
+                .containsEntry(SubmissionStatus.SUBMITTED, 0L);
+        assertThat(stats.companyStats(1L).tasksByStatus().values()).containsOnly(0L);
+        assertThat(stats.engineerStats(7L).submissionsByStatus().values()).containsOnly(0L);
+    }
+
+    @Test
+    void eventsMoveCountsBetweenStatuses() {
+        stats.onSubmissionChanged(new SubmissionChangedEvent(1L, 10L, 1L, 7L, null, SubmissionStatus.CLAIMED));
+        stats.onSubmissionChanged(new SubmissionChangedEvent(1L, 10L, 1L, 7L,
+                SubmissionStatus.CLAIMED, SubmissionStatus.SUBMITTED));
+
+        assertThat(stats.engineerStats(7L).submissionsByStatus())
+                .containsEntry(SubmissionStatus.CLAIMED, 0L)
+                .containsEntry(SubmissionStatus.SUBMITTED, 1L);
+        assertThat(stats.companyStats(1L).submissionsByStatus()).containsEntry(SubmissionStatus.SUBMITTED, 1L);
+    }
+
+    @Test
+    void taskEventsMoveCompanyCounts() {
+        stats.onTaskChanged(new TaskChangedEvent(10L, 1L, TaskDifficulty.EASY, 100, null, TaskStatus.PUBLISHED));
+        stats.onTaskChanged(new TaskChangedEvent(11L, 1L, TaskDifficulty.EASY, 100, null, TaskStatus.PUBLISHED));
+        stats.onTaskChanged(new TaskChangedEvent(10L, 1L, TaskDifficulty.EASY, 100,
+                TaskStatus.PUBLISHED, TaskStatus.CLAIMED));
+        // Durumu değişmeyen güncelleme (fiyat vb.) sayaçlara dokunmaz
+        stats.onTaskChanged(new TaskChangedEvent(11L, 1L, TaskDifficulty.EASY, 200,
+                TaskStatus.PUBLISHED, TaskStatus.PUBLISHED));
+
+        assertThat(stats.companyStats(1L).tasksByStatus())
+                .containsEntry(TaskStatus.PUBLISHED, 1L)
+                .containsEntry(TaskStatus.CLAIMED, 1L);
+        assertThat(stats.companyStats(2L).tasksByStatus().values()).containsOnly(0L);
+    }
+
+    @Test
+    void xpComesFromLedgerAndFollowsGrants() {
+        when(xpLedgerRepository.sumAmountsSince(Instant.EPOCH)).thenReturn(List.of(
+                new XpTotal(7L, 1L, TaskDifficulty.EASY, 100L), new XpTotal(7L, 2L, TaskDifficulty.HARD, 300L)));
+        stats.reconcile();
+
+        stats.onXpGranted(new XpGrantedEvent(7L, 50, 1L, TaskDifficulty.EASY));
+        stats.onXpGranted(new XpGrantedEvent(8L, 0, 1L, TaskDifficulty.EASY));
+
+        assertThat(stats.engineerStats(7L).xp()).isEqualTo(450);
+        assertThat(stats.engineerStats(8L).xp()).isZero();
+    }
+
+    @Test
+    void bulkTaskChangeReconcilesOnNextDirtyCheck() {
+        stats.reconcileIfDirty();
+        verify(taskRepository, never()).countByCompanyAndStatus();
+
+        when(taskRepository.countByCompanyAndStatus()).thenReturn(List.of(taskCount(1L, TaskStatus.PUBLISHED, 500)));
+        stats.onTaskChanged(TaskChangedEvent.all());
+        stats.reconcileIfDirty();
+        stats.reconcileIfDirty();
+
+        verify(taskRepository, times(1)).countByCompanyAndStatus();
+        assertThat(stats.companyStats(1L).tasksByStatus()).containsEntry(TaskStatus.PUBLISHED, 500L);
+    }
+
+    @Test
+    void reconcileReplacesDriftedCounters() {
+        // Mutabakat sırasında kaybolmuş bir olayın yarattığı sapma
+        stats.onSubmissionChanged(new SubmissionChangedEvent(1L, 10L, 1L, 7L,
+                SubmissionStatus.SUBMITTED, SubmissionStatus.APPROVED));
+        assertThat(stats.taskStats(10L).submissionsByStatus())
+                .containsEntry(SubmissionStatus.SUBMITTED, 0L)
+                .containsEntry(SubmissionStatus.APPROVED, 1L);
+
+        when(submissionRepository.countByTaskAndStatus()).thenReturn(List.of(
+                submissionCount(10L, 1L, SubmissionStatus.APPROVED, 3)));
+        stats.reconcile();
+
+        assertThat(stats.taskStats(10L).submissionsByStatus()).containsEntry(SubmissionStatus.APPROVED, 3L);
+        assertThat(stats.engineerStats(7L).submissionsByStatus().values()).containsOnly(0L);
+    }
+}
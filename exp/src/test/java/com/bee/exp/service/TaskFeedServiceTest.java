@@ -0,0 +1,221 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.SubmissionFeatureView;
+import com.bee.exp.repository.TaskFeatureView;
+import com.bee.exp.repository.TaskRepository;
+import com.bee.exp.repository.TaskSubmissionRepository;
+import com.bee.exp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskFeedServiceTest {
+
+    record Feature(Long id, TaskDifficulty difficulty, Integer price, Long companyId) implements TaskFeatureView {
+        public Long getId() { return id; }
+        public TaskDifficulty getDifficulty() { return difficulty; }
+        public Integer getPrice() { return price; }
+        public Long getCompanyId() { return companyId; }
+    }
+
+    record History(Long taskId, TaskDifficulty difficulty, Long companyId) implements SubmissionFeatureView {
+        public Long getTaskId() { return taskId; }
+        public TaskDifficulty getDifficulty() { return difficulty; }
+        public Long getCompanyId() { return companyId; }
+    }
+
+    private static final Long ENGINEER_ID = 7L;
+
+    private TaskRepository taskRepository;
+    private TaskSubmissionRepository taskSubmissionRepository;
+    private UserRepository userRepository;
+    private TaskFeedService service;
+    // findByIdIn'in döndüreceği durumlar; varsayılan PUBLISHED
+    private final Map<Long, TaskStatus> statuses = new HashMap<>();
+    private final User engineer = User.builder().id(ENGINEER_ID).role(Role.ENGINEER).build();
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        taskSubmissionRepository = mock(TaskSubmissionRepository.class);
+        userRepository = mock(UserRepository.class);
+        service = new TaskFeedService(taskRepository, taskSubmissionRepository, userRepository,
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(30));
+        when(userRepository.findXpById(anyLong())).thenReturn(Optional.of(0));
+        when(taskSubmissionRepository.findFeaturesByEngineerId(anyLong())).thenReturn(List.of());
+        when(taskRepository.findByIdIn(any())).thenAnswer(inv -> {
+            // Sırayı bilerek ters çevir: servis skor sırasına geri dizmeli
+            List<Task> found = new ArrayList<>();
+            for (Long id : inv.<Collection<Long>>getArgument(0)) {
+                found.add(0, Task.builder().id(id).status(statuses.getOrDefault(id, TaskStatus.PUBLISHED)).build());
+            }
+            return found;
+        });
+    }
+
+    @Test
+    void newEngineerGetsEasyTasksFirst() {
+        index(new Feature(1L, TaskDifficulty.HARD, 100, null),
+                new Feature(2L, TaskDifficulty.EASY, 100, null),
+                new Feature(3L, TaskDifficulty.MEDIUM, 100, null));
+
+        assertThat(ids(service.feed(engineer, 0, 10))).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void highLevelEngineerGetsHardTasksFirst() {
+        when(userRepository.findXpById(ENGINEER_ID)).thenReturn(Optional.of(10_000));
+        index(new Feature(1L, TaskDifficulty.EASY, 100, null),
+                new Feature(2L, TaskDifficulty.HARD, 100, null),
+                new Feature(3L, TaskDifficulty.MEDIUM, 100, null));
+
+        assertThat(ids(service.feed(engineer, 0, 10))).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void higherPriceAndNewerTaskWinWithinSameDifficulty() {
+        index(new Feature(1L, TaskDifficulty.EASY, 50, null),
+                new Feature(2L, TaskDifficulty.EASY, 500, null),
+                new Feature(3L, TaskDifficulty.EASY, 50, null));
+
+        // Eşit skorda büyük id önde
+        assertThat(ids(service.feed(engineer, 0, 10))).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void historyAddsCompanyAffinityAndHidesOwnTasks() {
+        when(taskSubmissionRepository.findFeaturesByEngineerId(ENGINEER_ID))
+                .thenReturn(List.of(new History(1L, TaskDifficulty.EASY, 5L)));
+        index(new Feature(1L, TaskDifficulty.EASY, 100, 5L),
+                new Feature(2L, TaskDifficulty.EASY, 100, 6L),
+                new Feature(3L, TaskDifficulty.EASY, 100, 5L));
+
+        // 1 zaten engineer'ın; aynı şirketten 3, yeni id'li 2'nin önüne geçer
+        assertThat(ids(service.feed(engineer, 0, 10))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void heapPagesMatchFullRanking() {
+        Random random = new Random(42);
+        TaskDifficulty[] difficulties = TaskDifficulty.values();
+        List<Feature> features = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            features.add(new Feature(id, difficulties[random.nextInt(difficulties.length)],
+                    random.nextInt(1000), (long) random.nextInt(10)));
+        }
+        when(taskSubmissionRepository.findFeaturesByEngineerId(ENGINEER_ID)).thenReturn(List.of(
+                new History(1000L, TaskDifficulty.MEDIUM, 3L), new History(1001L, TaskDifficulty.HARD, 3L)));
+        index(features.toArray(Feature[]::new));
+
+        // k >= n: heap her şeyi tutar, yani tam sıralama
+        List<Long> full = ids(service.feed(engineer, 0, 400));
+        assertThat(full).hasSize(300).doesNotHaveDuplicates();
+
+        List<Long> paged = new ArrayList<>();
+        for (int offset = 0; offset < 300; offset += 25) {
+            List<Task> page = service.feed(engineer, offset, 25);
+            // limit + 1: bir sonraki sayfa var mı anlaşılsın diye
+            assertThat(page).hasSize(offset + 25 < 300 ? 26 : 25);
+            paged.addAll(ids(page).subList(0, 25));
+        }
+        assertThat(paged).isEqualTo(full);
+    }
+
+    @Test
+    void depthIsCappedAndUnpublishedTasksAreDropped() {
+        index(new Feature(1L, TaskDifficulty.EASY, 100, null),
+                new Feature(2L, TaskDifficulty.EASY, 200, null));
+        // Index'ten sonra claim edildi, olay henüz gelmedi
+        statuses.put(2L, TaskStatus.CLAIMED);
+
+        assertThat(ids(service.feed(engineer, 0, 10))).containsExactly(1L);
+        assertThat(service.feed(engineer, TaskFeedService.MAX_FEED_DEPTH, 10)).isEmpty();
+        assertThat(service.feed(engineer, 5, 10)).isEmpty();
+    }
+
+    @Test
+    void taskEventsUpdateIndexIncrementally() {
+        index(new Feature(1L, TaskDifficulty.EASY, 100, null));
+
+        service.onTaskChanged(new TaskChangedEvent(2L, 5L, TaskDifficulty.EASY, 900, null, TaskStatus.PUBLISHED));
+        assertThat(ids(service.feed(engineer, 0, 10))).containsExactly(2L, 1L);
+
+        service.onTaskChanged(new TaskChangedEvent(2L, 5L, TaskDifficulty.EASY, 900,
+                TaskStatus.PUBLISHED, TaskStatus.CLAIMED));
+        assertThat(ids(service.feed(engineer, 0, 10))).containsExactly(1L);
+        verify(taskRepository, times(1)).findFeaturesByStatus(TaskStatus.PUBLISHED);
+    }
+
+    @Test
+    void bulkEventRebuildsOnNextDirtyCheck() {
+        index(new Feature(1L, TaskDifficulty.EASY, 100, null));
+        service.rebuildIfDirty();
+        verify(taskRepository, times(1)).findFeaturesByStatus(TaskStatus.PUBLISHED);
+
+        when(taskRepository.findFeaturesByStatus(TaskStatus.PUBLISHED)).thenReturn(List.of(
+                new Feature(1L, TaskDifficulty.EASY, 100, null), new Feature(2L, TaskDifficulty.EASY, 200, null)));
+        service.onTaskChanged(TaskChangedEvent.all());
+        service.rebuildIfDirty();
+
+        verify(taskRepository, times(2)).findFeaturesByStatus(TaskStatus.PUBLISHED);
+        assertThat(ids(service.feed(engineer, 0, 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void profileIsLoadedOnceAndFollowsEvents() {
+        index(new Feature(1L, TaskDifficulty.EASY, 100, null),
+                new Feature(2L, TaskDifficulty.HARD, 100, null),
+                new Feature(3L, TaskDifficulty.MEDIUM, 100, null));
+        assertThat(ids(service.feed(engineer, 0, 10))).containsExactly(1L, 3L, 2L);
+
+        service.onSubmissionChanged(new SubmissionChangedEvent(null, 1L, null, ENGINEER_ID,
+                null, SubmissionStatus.CLAIMED));
+        service.onXpGranted(new XpGrantedEvent(ENGINEER_ID, 10_000, null, null));
+
+        // Claim edilen görev düştü, yüksek level HARD'ı öne aldı
+        assertThat(ids(service.feed(engineer, 0, 10))).containsExactly(2L, 3L);
+        verify(userRepository, times(1)).findXpById(ENGINEER_ID);
+        verify(taskSubmissionRepository, times(1)).findFeaturesByEngineerId(ENGINEER_ID);
+    }
+
+    @Test
+    void onlyEngineersHaveAFeed() {
+        User company = User.builder().id(1L).role(Role.COMPANY).build();
+
+        assertThatThrownBy(() -> service.feed(company, 0, 10)).hasMessage("Forbidden");
+        assertThatThrownBy(() -> service.feed(null, 0, 10)).hasMessage("Unauthenticated");
+    }
+
+    private void index(Feature... features) {
+        when(taskRepository.findFeaturesByStatus(TaskStatus.PUBLISHED)).thenReturn(List.of(features));
+        service.rebuild();
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
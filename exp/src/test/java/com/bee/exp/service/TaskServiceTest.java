@@ -0,0 +1,241 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.Company;
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.domain.TaskSubmission;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.CompanyRepository;
+import com.bee.exp.repository.TaskRepository;
+import com.bee.exp.repository.TaskSubmissionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TaskServiceTest {
+
+    private TaskRepository taskRepository;
+    private TaskSubmissionRepository taskSubmissionRepository;
+    private OutboxService outboxService;
+    private ApplicationEventPublisher eventPublisher;
+    private TaskService taskService;
+
+    private final User owner = User.builder().id(1L).role(Role.COMPANY).build();
+    private final Task task = Task.builder().id(10L).status(TaskStatus.PUBLISHED).difficulty(TaskDifficulty.HARD)
+            .company(Company.builder().id(3L).owner(owner).build()).build();
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        taskSubmissionRepository = mock(TaskSubmissionRepository.class);
+        outboxService = mock(OutboxService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        taskService = new TaskService(taskRepository, taskSubmissionRepository, mock(CompanyRepository.class),
+                outboxService, mock(EntityManager.class), eventPublisher);
+        when(taskRepository.findByIdIn(any())).thenAnswer(inv -> {
+            List<Task> found = new ArrayList<>();
+            for (Long id : inv.<Collection<Long>>getArgument(0)) {
+                found.add(0, Task.builder().id(id).build());
+            }
+            return found;
+        });
+    }
+
+    @Test
+    void searchTermsBecomePrefixConjunction() {
+        when(taskRepository.searchIds(anyString(), anyString(), anyInt(), anyInt())).thenReturn(List.of());
+
+        taskService.searchTasks("  Reac  nativ ", null, 0, 20);
+
+        // Varsayılan PUBLISHED, limit + 1
+        verify(taskRepository).searchIds("PUBLISHED", "Reac:* & nativ:*", 21, 0);
+    }
+
+    @Test
+    void tsqueryOperatorsInInputAreDropped() {
+        when(taskRepository.searchIds(anyString(), anyString(), anyInt(), anyInt())).thenReturn(List.of());
+
+        taskService.searchTasks("java|(spring & !boot):* 'x'", TaskStatus.CLAIMED, 40, 20);
+
+        verify(taskRepository).searchIds("CLAIMED", "java:* & spring:* & boot:* & x:*", 21, 40);
+    }
+
+    @Test
+    void unicodeLettersAndDigitsAreKeptAndTermsAreCapped() {
+        when(taskRepository.searchIds(anyString(), anyString(), anyInt(), anyInt())).thenReturn(List.of());
+
+        taskService.searchTasks("çalışan öğrenci 2fa a b c d e f g h", null, 0, 5);
+
+        verify(taskRepository).searchIds(eq("PUBLISHED"),
+                eq("çalışan:* & öğrenci:* & 2fa:* & a:* & b:* & c:* & d:* & e:*"), eq(6), eq(0));
+    }
+
+    @Test
+    void queryWithoutTermsSkipsDatabase() {
+        assertThat(taskService.searchTasks(" -!& ", null, 0, 20)).isEmpty();
+        assertThat(taskService.searchTasks(null, null, 0, 20)).isEmpty();
+
+        verify(taskRepository, never()).searchIds(anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void resultsKeepRankOrder() {
+        when(taskRepository.searchIds(anyString(), anyString(), anyInt(), anyInt())).thenReturn(List.of(5L, 9L, 2L));
+
+        List<Task> result = taskService.searchTasks("react", null, 0, 20);
+
+        assertThat(result).extracting(Task::getId).containsExactly(5L, 9L, 2L);
+    }
+
+    @Test
+    void bulkApproveUpdatesOnlySubmittedInOneStatementAndQueuesXp() {
+        TaskSubmission first = submission(100L, SubmissionStatus.SUBMITTED);
+        TaskSubmission claimed = submission(101L, SubmissionStatus.CLAIMED);
+        TaskSubmission second = submission(102L, SubmissionStatus.SUBMITTED);
+        when(taskSubmissionRepository.findByIdIn(List.of(100L, 101L, 102L, 999L)))
+                .thenReturn(List.of(first, claimed, second));
+        when(taskSubmissionRepository.updateStatus(any(), any(), any(), any())).thenReturn(2);
+
+        List<TaskSubmission> approved = taskService.approveSubmissions(List.of(100L, 101L, 102L, 999L), owner);
+
+        assertThat(approved).extracting(TaskSubmission::getId).containsExactly(100L, 102L);
+        assertThat(approved).allMatch(s -> s.getStatus() == SubmissionStatus.APPROVED && s.getReviewedAt() != null);
+        assertThat(claimed.getStatus()).isEqualTo(SubmissionStatus.CLAIMED);
+        verify(taskSubmissionRepository).updateStatus(eq(List.of(100L, 102L)), eq(SubmissionStatus.SUBMITTED),
+                eq(SubmissionStatus.APPROVED), any());
+        // XP istek yolunda değil, outbox üzerinden
+        verify(outboxService).append(SubmissionApproved.AGGREGATE, 100L, SubmissionApproved.TYPE,
+                new SubmissionApproved(100L, 10L, 3L, 7L, TaskDifficulty.HARD));
+        verify(outboxService).append(SubmissionApproved.AGGREGATE, 102L, SubmissionApproved.TYPE,
+                new SubmissionApproved(102L, 10L, 3L, 7L, TaskDifficulty.HARD));
+        verify(eventPublisher).publishEvent(new SubmissionChangedEvent(100L, 10L, 3L, 7L,
+                SubmissionStatus.SUBMITTED, SubmissionStatus.APPROVED));
+    }
+
+    @Test
+    void bulkApproveFailsWholeBatchOnConcurrentChange() {
+        when(taskSubmissionRepository.findByIdIn(List.of(100L, 102L))).thenReturn(List.of(
+                submission(100L, SubmissionStatus.SUBMITTED), submission(102L, SubmissionStatus.SUBMITTED)));
+        // Arada biri başka istekle reddedildi
+        when(taskSubmissionRepository.updateStatus(any(), any(), any(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> taskService.approveSubmissions(List.of(100L, 102L), owner))
+                .hasMessageContaining("concurrently");
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void onlyOwningCompanyOrAdminCanReview() {
+        User stranger = User.builder().id(2L).role(Role.COMPANY).build();
+        when(taskSubmissionRepository.findByIdIn(List.of(100L)))
+                .thenReturn(List.of(submission(100L, SubmissionStatus.SUBMITTED)));
+        when(taskSubmissionRepository.updateStatus(any(), any(), any(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> taskService.approveSubmissions(List.of(100L), stranger)).hasMessage("Forbidden");
+        verify(taskSubmissionRepository, never()).updateStatus(any(), any(), any(), any());
+
+        User admin = User.builder().id(99L).role(Role.ADMIN).build();
+        assertThat(taskService.approveSubmissions(List.of(100L), admin)).hasSize(1);
+    }
+
+    @Test
+    void singleApproveOfNonPendingSubmissionFails() {
+        when(taskSubmissionRepository.findByIdIn(List.of(100L)))
+                .thenReturn(List.of(submission(100L, SubmissionStatus.APPROVED)));
+
+        assertThatThrownBy(() -> taskService.approveSubmission(100L, owner))
+                .hasMessage("Submission not found or not awaiting approval");
+        assertThat(taskService.approveSubmissions(List.of(), owner)).isEmpty();
+        verify(taskSubmissionRepository, never()).updateStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void rejectMarksSubmissionWithoutXp() {
+        TaskSubmission pending = submission(100L, SubmissionStatus.SUBMITTED);
+        when(taskSubmissionRepository.findByIdIn(List.of(100L))).thenReturn(List.of(pending));
+        when(taskSubmissionRepository.save(pending)).thenReturn(pending);
+
+        taskService.rejectSubmission(100L, owner);
+
+        assertThat(pending.getStatus()).isEqualTo(SubmissionStatus.REJECTED);
+        assertThat(pending.getReviewedAt()).isNotNull();
+        verifyNoInteractions(outboxService);
+        assertThatThrownBy(() -> taskService.rejectSubmission(100L, owner))
+                .hasMessage("Submission is not awaiting approval");
+    }
+
+    @Test
+    void repeatedClaimIsNoOp() {
+        User engineer = User.builder().id(7L).role(Role.ENGINEER).build();
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+        when(taskSubmissionRepository.insertClaimIfAbsent(eq(10L), eq(7L), any())).thenReturn(1, 0);
+
+        taskService.claimTask(10L, engineer);
+        taskService.claimTask(10L, engineer);
+
+        // Sadece gerçekten eklenen satır için olay
+        verify(eventPublisher, times(1)).publishEvent(new SubmissionChangedEvent(null, 10L, 3L, 7L,
+                null, SubmissionStatus.CLAIMED));
+        verify(taskSubmissionRepository, never()).save(any());
+    }
+
+    @Test
+    void resubmitReportsPreviousStatus() {
+        User engineer = User.builder().id(7L).role(Role.ENGINEER).build();
+        TaskSubmission row = submission(100L, SubmissionStatus.SUBMITTED);
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+        when(taskSubmissionRepository.insertClaimIfAbsent(eq(10L), eq(7L), any())).thenReturn(0);
+        when(taskSubmissionRepository.findStatus(10L, 7L)).thenReturn(Optional.of(SubmissionStatus.REJECTED));
+        when(taskSubmissionRepository.updateSubmission(eq(10L), eq(7L), eq("fixed"), any(), any())).thenReturn(1);
+        when(taskSubmissionRepository.findByTaskAndEngineer(task, engineer)).thenReturn(Optional.of(row));
+
+        assertThat(taskService.submitTask(10L, engineer, "fixed", null)).isSameAs(row);
+
+        verify(eventPublisher).publishEvent(new SubmissionChangedEvent(100L, 10L, 3L, 7L,
+                SubmissionStatus.REJECTED, SubmissionStatus.SUBMITTED));
+    }
+
+    @Test
+    void submitAfterApprovalIsRejected() {
+        User engineer = User.builder().id(7L).role(Role.ENGINEER).build();
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+        when(taskSubmissionRepository.insertClaimIfAbsent(eq(10L), eq(7L), any())).thenReturn(0);
+        when(taskSubmissionRepository.findStatus(10L, 7L)).thenReturn(Optional.of(SubmissionStatus.APPROVED));
+        when(taskSubmissionRepository.updateSubmission(any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> taskService.submitTask(10L, engineer, "again", null))
+                .hasMessage("Submission already approved");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private TaskSubmission submission(long id, SubmissionStatus status) {
+        return TaskSubmission.builder()
+                .id(id)
+                .task(task)
+                .engineer(User.builder().id(7L).role(Role.ENGINEER).build())
+                .status(status)
+                .build();
+    }
+}
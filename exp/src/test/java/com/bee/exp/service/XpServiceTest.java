@@ -0,0 +1,100 @@
+package com.bee.exp.service;
+
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.User;
+import com.bee.exp.domain.XpLedgerEntry;
+import com.bee.exp.repository.UserRepository;
+import com.bee.exp.repository.XpLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class XpServiceTest {
+
+    private UserRepository userRepository;
+    private XpLedgerRepository ledgerRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private XpService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        ledgerRepository = mock(XpLedgerRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new XpService(userRepository, ledgerRepository, eventPublisher);
+        when(userRepository.incrementXp(anyLong(), anyInt(), anyInt(), anyInt(), anyInt(), any())).thenReturn(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void grantsToSameUserAreSummedIntoOneUpdate() {
+        service.grantXpAll(List.of(
+                new XpService.XpGrant(1L, 10, "a", 100L, 7L, TaskDifficulty.EASY),
+                new XpService.XpGrant(2L, 25, "b", 101L, 7L, TaskDifficulty.MEDIUM),
+                new XpService.XpGrant(1L, 50, "c", 102L, 8L, TaskDifficulty.HARD)));
+
+        ArgumentCaptor<List<XpLedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(ledgerRepository).saveAll(entries.capture());
+        assertThat(entries.getValue()).extracting(XpLedgerEntry::getAmount).containsExactly(10, 25, 50);
+
+        verify(userRepository).incrementXp(eq(1L), eq(60), anyInt(), anyInt(), anyInt(), any());
+        verify(userRepository).incrementXp(eq(2L), eq(25), anyInt(), anyInt(), anyInt(), any());
+        // Leaderboard kırılımları ve AuthUserCache evict'i için olaylar hareket başına
+        verify(eventPublisher, times(3)).publishEvent(any(XpGrantedEvent.class));
+        verify(eventPublisher).publishEvent(new XpGrantedEvent(2L, 25, 7L, TaskDifficulty.MEDIUM));
+    }
+
+    @Test
+    void missingUserFailsWithoutEvents() {
+        when(userRepository.incrementXp(eq(9L), anyInt(), anyInt(), anyInt(), anyInt(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.grantXpAll(List.of(new XpService.XpGrant(9L, 10, null, null, null, null))))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("User not found");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void emptyBatchDoesNothing() {
+        service.grantXpAll(List.of());
+
+        verify(ledgerRepository, never()).saveAll(any());
+        verify(userRepository, never()).incrementXp(anyLong(), anyInt(), anyInt(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void userOverloadRunsInItsOwnTransaction() throws Exception {
+        // grantXp(XpGrant)'a self-invocation ile gider; transaction bu metodun kendi annotation'ından gelmeli
+        assertThat(XpService.class.getMethod("grantXp", User.class, int.class)
+                .isAnnotationPresent(Transactional.class)).isTrue();
+
+        service.grantXp(User.builder().id(3L).build(), 15);
+
+        verify(userRepository).incrementXp(eq(3L), eq(15), anyInt(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void levelThresholds() {
+        assertThat(XpService.calcLevel(0)).isEqualTo(1);
+        assertThat(XpService.calcLevel(99)).isEqualTo(1);
+        assertThat(XpService.calcLevel(100)).isEqualTo(2);
+        assertThat(XpService.calcLevel(250)).isEqualTo(3);
+        assertThat(XpService.calcLevel(500)).isEqualTo(4);
+    }
+}
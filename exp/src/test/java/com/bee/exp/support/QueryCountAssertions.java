@@ -0,0 +1,45 @@
+package com.bee.exp.support;
+
+import com.bee.exp.config.SqlStatementCounter;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SqlStatementCounter üzerinden "bu çağrı tam olarak N SQL atar" kontrolü.
+ * Sayaç thread bazında olduğu için çağrı test thread'inde yapılmalı
+ * (MockMvc / HTTP üzerinden değil; QueryCountFilter sayacı istek sonunda sıfırlar).
+ *
+ * <pre>
+ *   List&lt;TaskResponse&gt; items = assertStatements(4, () -&gt; controller.list(...));
+ * </pre>
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertStatements(long expected, Supplier<T> action) {
+        SqlStatementCounter.reset();
+        try {
+            T result = action.get();
+            assertThat(SqlStatementCounter.get())
+                    .as("SQL statements executed")
+                    .isEqualTo(expected);
+            return result;
+        } finally {
+            SqlStatementCounter.clear();
+        }
+    }
+
+    public static long countStatements(Runnable action) {
+        SqlStatementCounter.reset();
+        try {
+            action.run();
+            return SqlStatementCounter.get();
+        } finally {
+            SqlStatementCounter.clear();
+        }
+    }
+}
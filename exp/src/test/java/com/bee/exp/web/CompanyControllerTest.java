@@ -0,0 +1,77 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.Company;
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.CompanyRepository;
+import com.bee.exp.service.CompanyChangedEvent;
+import com.bee.exp.web.dto.CompanyRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CompanyControllerTest {
+
+    private CompanyRepository companyRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private CompanyController controller;
+    private final User owner = User.builder().id(3L).role(Role.COMPANY).build();
+
+    @BeforeEach
+    void setUp() {
+        companyRepository = mock(CompanyRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        controller = new CompanyController(companyRepository, eventPublisher);
+        when(companyRepository.save(any(Company.class))).thenAnswer(inv -> {
+            Company c = inv.getArgument(0);
+            if (c.getId() == null) {
+                c.setId(42L);
+            }
+            return c;
+        });
+    }
+
+    @Test
+    void renamePublishesCompanyScopedEvent() {
+        when(companyRepository.findByOwner(owner))
+                .thenReturn(Optional.of(Company.builder().id(7L).name("Acme").owner(owner).build()));
+
+        controller.upsertMyCompany(owner, request("Acme Inc", "d"));
+
+        verify(eventPublisher).publishEvent(new CompanyChangedEvent(7L, "Acme", "Acme Inc"));
+    }
+
+    @Test
+    void descriptionOnlyChangePublishesNothing() {
+        when(companyRepository.findByOwner(owner))
+                .thenReturn(Optional.of(Company.builder().id(7L).name("Acme").owner(owner).build()));
+
+        controller.upsertMyCompany(owner, request("Acme", "new description"));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void newCompanyPublishesNothing() {
+        when(companyRepository.findByOwner(owner)).thenReturn(Optional.empty());
+
+        controller.upsertMyCompany(owner, request("Fresh", null));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private static CompanyRequest request(String name, String description) {
+        CompanyRequest req = new CompanyRequest();
+        req.setName(name);
+        req.setDescription(description);
+        return req;
+    }
+}
@@ -0,0 +1,99 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.service.SubmissionChangedEvent;
+import com.bee.exp.service.TaskChangedEvent;
+import com.bee.exp.web.dto.LiveEventResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LiveEventHubTest {
+
+    private static LiveEventResponse event(String type, Long companyId, Long engineerId) {
+        LiveEventResponse e = new LiveEventResponse();
+        e.setType(type);
+        e.setCompanyId(companyId);
+        e.setEngineerId(engineerId);
+        return e;
+    }
+
+    private static LiveEventHub hub(int maxSubscribers) {
+        return new LiveEventHub(new SimpleMeterRegistry(), maxSubscribers, 4, Duration.ofMinutes(1), 1);
+    }
+
+    @Test
+    void companyFilterSeesOnlyItsOwnCompany() {
+        LiveEventHub.Filter f = new LiveEventHub.Filter(1L, null, null);
+
+        assertThat(f.matches(event("task.status", 1L, null))).isTrue();
+        assertThat(f.matches(event("submission.status", 1L, 9L))).isTrue();
+        assertThat(f.matches(event("task.status", 2L, null))).isFalse();
+    }
+
+    @Test
+    void engineerFilterSeesTasksAndOwnSubmissions() {
+        LiveEventHub.Filter f = new LiveEventHub.Filter(null, 9L, null);
+
+        assertThat(f.matches(event("task.created", 1L, null))).isTrue();
+        assertThat(f.matches(event("submission.status", 1L, 9L))).isTrue();
+        assertThat(f.matches(event("submission.status", 1L, 8L))).isFalse();
+    }
+
+    @Test
+    void anonymousFilterSeesTaskEventsOptionallyNarrowedByCompany() {
+        LiveEventHub.Filter all = new LiveEventHub.Filter(null, null, null);
+        LiveEventHub.Filter one = new LiveEventHub.Filter(null, null, 1L);
+
+        assertThat(all.matches(event("task.status", 2L, null))).isTrue();
+        assertThat(all.matches(event("submission.status", 2L, 9L))).isFalse();
+        assertThat(one.matches(event("task.status", 2L, null))).isFalse();
+        assertThat(one.matches(event("refresh", null, null))).isTrue();
+    }
+
+    @Test
+    void companyRenameReachesOnlySubscribersShowingThatCompany() {
+        LiveEventResponse renamed = event("company.updated", 1L, null);
+
+        assertThat(new LiveEventHub.Filter(1L, null, null).matches(renamed)).isTrue();
+        assertThat(new LiveEventHub.Filter(2L, null, null).matches(renamed)).isFalse();
+        assertThat(new LiveEventHub.Filter(null, null, 2L).matches(renamed)).isFalse();
+        assertThat(new LiveEventHub.Filter(null, null, null).matches(renamed)).isTrue();
+    }
+
+    @Test
+    void subscriberLimitIsEnforced() {
+        LiveEventHub hub = hub(1);
+        try {
+            hub.subscribe(new LiveEventHub.Filter(null, null, null));
+
+            assertThatThrownBy(() -> hub.subscribe(new LiveEventHub.Filter(null, null, null)))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .hasMessageContaining("503");
+            assertThat(hub.subscriberCount()).isEqualTo(1);
+        } finally {
+            hub.shutdown();
+        }
+    }
+
+    @Test
+    void publishingAfterSenderShutdownDoesNotThrow() {
+        LiveEventHub hub = hub(10);
+        hub.subscribe(new LiveEventHub.Filter(null, 9L, null));
+        hub.shutdown();
+
+        assertThatCode(() -> {
+            hub.onTaskChanged(new TaskChangedEvent(1L, 1L, null, 10, null, TaskStatus.PUBLISHED));
+            hub.onSubmissionChanged(new SubmissionChangedEvent(
+                    5L, 1L, 1L, 9L, SubmissionStatus.CLAIMED, SubmissionStatus.SUBMITTED));
+            hub.heartbeat();
+        }).doesNotThrowAnyException();
+    }
+}
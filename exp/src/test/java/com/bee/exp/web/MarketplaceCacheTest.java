@@ -0,0 +1,158 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.service.CompanyChangedEvent;
+import com.bee.exp.service.TaskChangedEvent;
+import com.bee.exp.web.dto.TaskResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarketplaceCacheTest {
+
+    private static final MarketplaceCache.Key ALL = MarketplaceCache.Key.published(null);
+    private static final MarketplaceCache.Key EASY = MarketplaceCache.Key.published(TaskDifficulty.EASY);
+    // Şirket 1'in ilk sayfası: id 100..51 arası (nextCursor 51)
+    private static final MarketplaceCache.Key COMPANY_1_FIRST_PAGE =
+            MarketplaceCache.Key.page(TaskStatus.PUBLISHED, null, null, null, 1L, null, 50);
+    private static final MarketplaceCache.Key COMPANY_2_PAGE =
+            MarketplaceCache.Key.page(TaskStatus.PUBLISHED, null, null, null, 2L, null, 50);
+
+    private MarketplaceCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MarketplaceCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+        load(ALL, "Acme", null);
+        load(EASY, "Acme", null);
+        load(COMPANY_1_FIRST_PAGE, "Acme", 51L);
+        load(COMPANY_2_PAGE, "Globex", null);
+        loads.set(0);
+    }
+
+    @Test
+    void cachedUntilInvalidated() {
+        load(ALL, "Acme", null);
+        load(COMPANY_2_PAGE, "Globex", null);
+
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void publishedTaskEvictsOnlyMatchingLists() {
+        // Şirket 1'de yeni HARD görev, id 120: sayfa 1 aralığının (>= 51) içinde
+        cache.onTaskChanged(new TaskChangedEvent(120L, 1L, TaskDifficulty.HARD, 100, null, TaskStatus.PUBLISHED));
+
+        assertThat(reloaded(ALL)).isTrue();
+        assertThat(reloaded(COMPANY_1_FIRST_PAGE)).isTrue();
+        assertThat(reloaded(EASY)).isFalse();
+        assertThat(reloaded(COMPANY_2_PAGE)).isFalse();
+    }
+
+    @Test
+    void taskOutsidePageRangeKeepsPage() {
+        // id 10 < nextCursor 51: ilk sayfada olamaz
+        cache.onTaskChanged(new TaskChangedEvent(10L, 1L, TaskDifficulty.EASY, 100,
+                TaskStatus.PUBLISHED, TaskStatus.CLAIMED));
+
+        assertThat(reloaded(COMPANY_1_FIRST_PAGE)).isFalse();
+        assertThat(reloaded(ALL)).isTrue();
+        assertThat(reloaded(EASY)).isTrue();
+    }
+
+    @Test
+    void statusChangeBetweenUnlistedStatusesIsIgnored() {
+        cache.onTaskChanged(new TaskChangedEvent(120L, 1L, TaskDifficulty.EASY, 100,
+                TaskStatus.CLAIMED, TaskStatus.SUBMITTED));
+
+        assertThat(loads).hasValue(0);
+        assertThat(reloaded(ALL)).isFalse();
+    }
+
+    @Test
+    void bulkEventClearsEverything() {
+        cache.onTaskChanged(TaskChangedEvent.all());
+
+        assertThat(reloaded(ALL)).isTrue();
+        assertThat(reloaded(COMPANY_2_PAGE)).isTrue();
+    }
+
+    @Test
+    void companyRenameEvictsOnlyListsWithItsTasks() {
+        cache.onCompanyChanged(new CompanyChangedEvent(2L, "Globex", "Globex Corp"));
+
+        assertThat(reloaded(COMPANY_2_PAGE)).isTrue();
+        assertThat(reloaded(ALL)).isFalse();
+        assertThat(reloaded(EASY)).isFalse();
+        assertThat(reloaded(COMPANY_1_FIRST_PAGE)).isFalse();
+    }
+
+    @Test
+    void companyRenameEvictsUnscopedListsContainingItsName() {
+        cache.onCompanyChanged(new CompanyChangedEvent(1L, "Acme", "Acme Inc"));
+
+        assertThat(reloaded(ALL)).isTrue();
+        assertThat(reloaded(EASY)).isTrue();
+        assertThat(reloaded(COMPANY_1_FIRST_PAGE)).isTrue();
+        assertThat(reloaded(COMPANY_2_PAGE)).isFalse();
+    }
+
+    @Test
+    void invalidationDuringSlowLoadIsNotLost() throws Exception {
+        cache.onTaskChanged(TaskChangedEvent.all());
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Yükleme commit'ten önceki satırları okudu, cache'e yazılmadan olay geldi
+        CompletableFuture<MarketplaceCache.Entry> slow = CompletableFuture.supplyAsync(() -> cache.get(ALL, () -> {
+            loading.countDown();
+            await(release);
+            loads.incrementAndGet();
+            return new MarketplaceCache.Entry(List.of(), null);
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cache.onTaskChanged(new TaskChangedEvent(120L, 1L, TaskDifficulty.HARD, 100, null, TaskStatus.PUBLISHED));
+        release.countDown();
+
+        // İstek bayat listeyi alabilir ama cache'te kalmamalı
+        assertThat(slow.get(5, TimeUnit.SECONDS).items()).isEmpty();
+        assertThat(reloaded(ALL)).isTrue();
+        assertThat(reloaded(ALL)).isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean reloaded(MarketplaceCache.Key key) {
+        int before = loads.get();
+        load(key, "x", null);
+        return loads.get() > before;
+    }
+
+    private void load(MarketplaceCache.Key key, String companyName, Long nextCursor) {
+        cache.get(key, () -> {
+            loads.incrementAndGet();
+            TaskResponse r = new TaskResponse();
+            r.setId(99L);
+            r.setCompanyName(companyName);
+            return new MarketplaceCache.Entry(List.of(r), nextCursor);
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.repository.ChangeStamp;
+import com.bee.exp.repository.TaskSubmissionRepository;
+import com.bee.exp.service.TaskFeedService;
+import com.bee.exp.service.TaskService;
+import com.bee.exp.web.dto.TaskResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskControllerConditionalGetTest {
+
+    record Stamp(Long count, Instant lastModified, Instant relatedLastModified) implements ChangeStamp {
+        public Long getCount() { return count; }
+        public Instant getLastModified() { return lastModified; }
+        public Instant getRelatedLastModified() { return relatedLastModified; }
+    }
+
+    private static final Instant T0 = Instant.parse("2026-10-01T10:00:00Z");
+
+    private TaskService taskService;
+    private TaskController controller;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        controller = new TaskController(taskService, mock(TaskFeedService.class), mock(TaskSubmissionRepository.class),
+                new ObjectMapper(), new MarketplaceCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1)));
+        when(taskService.listPublishedTasks(null)).thenReturn(List.of(
+                Task.builder().id(1L).title("a").status(TaskStatus.PUBLISHED).build()));
+    }
+
+    @Test
+    void listingHasEtagButNoLastModified() {
+        when(taskService.listingStamp(TaskStatus.PUBLISHED)).thenReturn(new Stamp(2L, T0, T0));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        List<TaskResponse> items = controller.list(null, null, null, get(response));
+
+        assertThat(items).hasSize(1);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNull();
+    }
+
+    @Test
+    void unchangedStampIsNotModified() {
+        when(taskService.listingStamp(TaskStatus.PUBLISHED)).thenReturn(new Stamp(2L, T0, T0));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        controller.list(null, null, null, get(first));
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        ServletWebRequest request = get(second);
+        ((MockHttpServletRequest) request.getRequest())
+                .addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+
+        assertThat(controller.list(null, null, null, request)).isNull();
+        assertThat(second.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void taskLeavingListIsNotHiddenByOldTimestamp() {
+        when(taskService.listingStamp(TaskStatus.PUBLISHED)).thenReturn(new Stamp(2L, T0, T0));
+        controller.list(null, null, null, get(new MockHttpServletResponse()));
+
+        // Görevlerden biri PUBLISHED'dan çıktı: kalanların max(updatedAt)'i aynı, sadece sayı düştü
+        when(taskService.listingStamp(TaskStatus.PUBLISHED)).thenReturn(new Stamp(1L, T0, T0));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        ServletWebRequest request = get(second);
+        // Sadece If-Modified-Since gönderen istemci (If-None-Match olsaydı o belirleyici olurdu)
+        ((MockHttpServletRequest) request.getRequest())
+                .addHeader(HttpHeaders.IF_MODIFIED_SINCE, T0.plusSeconds(60).toEpochMilli());
+
+        assertThat(controller.list(null, null, null, request)).isNotNull();
+        assertThat(second.getStatus()).isEqualTo(200);
+    }
+
+    private static ServletWebRequest get(MockHttpServletResponse response) {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks"), response);
+    }
+}
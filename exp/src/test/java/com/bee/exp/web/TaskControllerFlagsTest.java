@@ -0,0 +1,98 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.TaskSubmissionRepository;
+import com.bee.exp.repository.TaskSubmissionState;
+import com.bee.exp.service.TaskFeedService;
+import com.bee.exp.service.TaskService;
+import com.bee.exp.web.dto.TaskResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TaskControllerFlagsTest {
+
+    private TaskService taskService;
+    private TaskSubmissionRepository submissionRepository;
+    private TaskController controller;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        submissionRepository = mock(TaskSubmissionRepository.class);
+        controller = new TaskController(taskService, mock(TaskFeedService.class), submissionRepository,
+                new ObjectMapper(), new MarketplaceCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1)));
+
+        when(taskService.searchTasks(anyString(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(task(1L), task(2L), task(3L), task(4L)));
+    }
+
+    private static Task task(long id) {
+        return Task.builder().id(id).title("t" + id).status(TaskStatus.PUBLISHED).build();
+    }
+
+    private static TaskSubmissionState state(long taskId, SubmissionStatus status) {
+        return new TaskSubmissionState() {
+            @Override
+            public Long getTaskId() {
+                return taskId;
+            }
+
+            @Override
+            public SubmissionStatus getStatus() {
+                return status;
+            }
+        };
+    }
+
+    private static User user(long id, Role role) {
+        return User.builder().id(id).role(role).email(id + "@x").passwordHash("-").build();
+    }
+
+    @Test
+    void flagsComeFromEngineerSubmissionStatuses() {
+        when(submissionRepository.findStatesByEngineerId(7L)).thenReturn(List.of(
+                state(1L, SubmissionStatus.CLAIMED),
+                state(2L, SubmissionStatus.SUBMITTED),
+                state(3L, SubmissionStatus.APPROVED),
+                state(99L, SubmissionStatus.REJECTED)));
+
+        List<TaskResponse> items = controller.search(user(7L, Role.ENGINEER), "x", null, 0, 20).getItems();
+
+        assertThat(items)
+                .extracting(TaskResponse::getId, TaskResponse::getClaimedByMe, TaskResponse::getSubmittedByMe)
+                .containsExactly(
+                        tuple(1L, true, false),
+                        tuple(2L, true, true),
+                        tuple(3L, true, true),
+                        tuple(4L, false, false));
+        // Görev id'leri sorguya bind edilmez, sadece engineer id
+        verify(submissionRepository).findStatesByEngineerId(7L);
+    }
+
+    @Test
+    void nonEngineersDoNotQuerySubmissions() {
+        List<TaskResponse> items = controller.search(user(8L, Role.COMPANY), "x", null, 0, 20).getItems();
+
+        assertThat(items).extracting(TaskResponse::getClaimedByMe).containsOnly(false);
+        verifyNoInteractions(submissionRepository);
+    }
+}
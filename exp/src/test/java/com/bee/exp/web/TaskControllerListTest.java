@@ -0,0 +1,102 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.ChangeStamp;
+import com.bee.exp.repository.TaskSubmissionRepository;
+import com.bee.exp.service.TaskFeedService;
+import com.bee.exp.service.TaskService;
+import com.bee.exp.web.dto.TaskResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskControllerListTest {
+
+    record Stamp(Long count, Instant lastModified, Instant relatedLastModified) implements ChangeStamp {
+        public Long getCount() { return count; }
+        public Instant getLastModified() { return lastModified; }
+        public Instant getRelatedLastModified() { return relatedLastModified; }
+    }
+
+    private TaskService taskService;
+    private TaskController controller;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        controller = new TaskController(taskService, mock(TaskFeedService.class), mock(TaskSubmissionRepository.class),
+                new ObjectMapper(), new MarketplaceCache(new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1)));
+        Stamp stamp = new Stamp(1L, Instant.EPOCH, null);
+        when(taskService.listingStamp(any())).thenReturn(stamp);
+        when(taskService.submissionStamp(any())).thenReturn(stamp);
+    }
+
+    @Test
+    void difficultyFilterIsQueriedAndCachedPerDifficulty() {
+        when(taskService.listPublishedTasks(TaskDifficulty.HARD))
+                .thenReturn(List.of(task(1L, TaskStatus.PUBLISHED, TaskDifficulty.HARD)));
+
+        assertThat(controller.list(null, null, TaskDifficulty.HARD, request())).extracting(TaskResponse::getId)
+                .containsExactly(1L);
+        assertThat(controller.list(null, TaskStatus.PUBLISHED, TaskDifficulty.HARD, request())).hasSize(1);
+
+        verify(taskService, times(1)).listPublishedTasks(TaskDifficulty.HARD);
+        verify(taskService, never()).listPublishedTasks(TaskDifficulty.EASY);
+    }
+
+    @Test
+    void nonPublishedStatusSkipsMarketplaceAndFiltersOwnTasks() {
+        User engineer = User.builder().id(7L).role(Role.ENGINEER).build();
+        when(taskService.listSubmittedTasks(engineer)).thenReturn(List.of(
+                task(10L, TaskStatus.CLAIMED, TaskDifficulty.EASY),
+                task(11L, TaskStatus.SUBMITTED, TaskDifficulty.EASY),
+                task(12L, TaskStatus.CLAIMED, TaskDifficulty.HARD)));
+
+        List<TaskResponse> items = controller.list(engineer, TaskStatus.CLAIMED, TaskDifficulty.EASY, request());
+
+        assertThat(items).extracting(TaskResponse::getId).containsExactly(10L);
+        verify(taskService, never()).listPublishedTasks(any());
+    }
+
+    @Test
+    void engineerSeesPublishedPlusOwnTasksWithoutFilter() {
+        User engineer = User.builder().id(7L).role(Role.ENGINEER).build();
+        when(taskService.listPublishedTasks(null)).thenReturn(List.of(
+                task(1L, TaskStatus.PUBLISHED, TaskDifficulty.EASY)));
+        when(taskService.listSubmittedTasks(engineer)).thenReturn(List.of(
+                task(1L, TaskStatus.PUBLISHED, TaskDifficulty.EASY),
+                task(10L, TaskStatus.CLAIMED, TaskDifficulty.HARD)));
+
+        List<TaskResponse> items = controller.list(engineer, null, null, request());
+
+        assertThat(items).extracting(TaskResponse::getId).containsExactly(1L, 10L);
+    }
+
+    private static Task task(long id, TaskStatus status, TaskDifficulty difficulty) {
+        return Task.builder().id(id).title("t" + id).status(status).difficulty(difficulty).build();
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,202 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.Company;
+import com.bee.exp.domain.Role;
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.domain.TaskSubmission;
+import com.bee.exp.domain.User;
+import com.bee.exp.repository.CompanyRepository;
+import com.bee.exp.repository.TaskRepository;
+import com.bee.exp.repository.TaskSubmissionRepository;
+import com.bee.exp.repository.UserRepository;
+import com.bee.exp.service.TaskChangedEvent;
+import com.bee.exp.web.dto.BulkApproveRequest;
+import com.bee.exp.web.dto.SubmissionResponse;
+import com.bee.exp.web.dto.TaskResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.bee.exp.support.QueryCountAssertions.assertStatements;
+import static com.bee.exp.support.QueryCountAssertions.countStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Marketplace ve toplu onay endpoint'lerinin attığı SQL sayısı sabitlenir;
+ * sayı görev / submission sayısıyla büyümemeli (N+1 regresyonu bu testi kırar).
+ * Toplu import'ta sayı satırla değil JDBC batch'iyle büyür.
+ * Uygulama PostgreSQL modundaki gömülü H2 üzerinde tam context ile açılır.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "app.jpa.sql-log-sample-rate=0"
+})
+class TaskControllerQueryCountTest {
+
+    // listingStamp + submissionStamp + yayındaki görevler + engineer'ın görevleri + claimed/submitted durumları
+    private static final long MARKETPLACE_STATEMENTS = 5;
+    // submission'lar (görev / şirket / engineer ile) + toplu UPDATE + outbox INSERT
+    private static final long BULK_APPROVE_STATEMENTS = 3;
+    // hibernate.jdbc.batch_size ve tasks_seq allocationSize
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Autowired
+    private TaskController controller;
+    @Autowired
+    private MarketplaceCache marketplaceCache;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskSubmissionRepository submissionRepository;
+
+    private User owner;
+    private User engineer;
+    private Company company;
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString();
+        owner = userRepository.save(User.builder()
+                .email("owner-" + suffix + "@test.dev").passwordHash("x").role(Role.COMPANY).fullName("Owner").build());
+        engineer = userRepository.save(User.builder()
+                .email("engineer-" + suffix + "@test.dev").passwordHash("x").role(Role.ENGINEER).fullName("Engineer").build());
+        company = companyRepository.save(Company.builder().name("Co " + suffix).owner(owner).build());
+    }
+
+    @Test
+    void marketplaceListingStatementsDoNotGrowWithTasks() {
+        addPublished(3);
+        submitted(2);
+        assertMarketplaceStatements();
+
+        addPublished(20);
+        submitted(10);
+        assertMarketplaceStatements();
+    }
+
+    @Test
+    void bulkApproveStatementsDoNotGrowWithSubmissions() {
+        // Pooled optimizer outbox_events_seq'i ilk iki id için ayrı ayrı okur, sonra 50'lik blok kullanır;
+        // ısınma ölçüme girmesin (sonraki 2 + 15 olay aynı bloğa sığar)
+        BulkApproveRequest warmUp = new BulkApproveRequest();
+        warmUp.setSubmissionIds(submitted(2));
+        controller.approveSubmissions(owner, warmUp);
+
+        assertBulkApproveStatements(submitted(2));
+        assertBulkApproveStatements(submitted(15));
+    }
+
+    @Test
+    void bulkImportStatementsGrowPerBatchNotPerTask() {
+        // Şirket satırı oluşsun, sequence ısınsın
+        importTasks(1);
+
+        long rowsBefore = taskRepository.count();
+        long statements = countStatements(() -> importTasks(500));
+
+        assertThat(taskRepository.count() - rowsBefore).isEqualTo(500);
+        // En fazla: şirket + 50'lik blok başına bir nextval ve bir batch INSERT (blok sınırı için +1 pay).
+        // Sayaç hazırlanan statement'ı sayar; Hibernate batch statement'ını yeniden kullandığında daha az görünür
+        int batches = 500 / JDBC_BATCH_SIZE;
+        assertThat(statements).isLessThanOrEqualTo(1L + 2L * (batches + 1));
+    }
+
+    private void importTasks(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"title\":\"Imported ").append(i)
+                    .append("\",\"difficulty\":\"EASY\",\"price\":100}");
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks/bulk");
+        request.setContent(json.append(']').toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            assertThat(controller.bulkCreate(owner, request).getBody().getImported()).isEqualTo(count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void assertMarketplaceStatements() {
+        // Soğuk cache: yayındaki liste de DB'den kurulur
+        marketplaceCache.onTaskChanged(TaskChangedEvent.all());
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks"));
+
+        List<TaskResponse> items = assertStatements(MARKETPLACE_STATEMENTS,
+                () -> controller.list(engineer, null, null, request));
+
+        assertThat(items).anyMatch(r -> Boolean.TRUE.equals(r.getSubmittedByMe()));
+    }
+
+    private void assertBulkApproveStatements(List<Long> submissionIds) {
+        BulkApproveRequest req = new BulkApproveRequest();
+        req.setSubmissionIds(submissionIds);
+
+        List<SubmissionResponse> approved = assertStatements(BULK_APPROVE_STATEMENTS,
+                () -> controller.approveSubmissions(owner, req).getBody());
+
+        assertThat(approved).hasSize(submissionIds.size())
+                .allMatch(r -> r.getStatus() == SubmissionStatus.APPROVED);
+    }
+
+    private void addPublished(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(task(TaskStatus.PUBLISHED, null));
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    private List<Long> submitted(int count) {
+        List<TaskSubmission> subs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task t = taskRepository.save(task(TaskStatus.SUBMITTED, engineer));
+            subs.add(TaskSubmission.builder()
+                    .task(t)
+                    .engineer(engineer)
+                    .status(SubmissionStatus.SUBMITTED)
+                    .notes("done")
+                    .submittedAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .build());
+        }
+        return submissionRepository.saveAll(subs).stream().map(TaskSubmission::getId).toList();
+    }
+
+    private Task task(TaskStatus status, User assignee) {
+        return Task.builder()
+                .title("Task")
+                .description("Sorgu sayısı testi")
+                .difficulty(TaskDifficulty.EASY)
+                .price(100)
+                .status(status)
+                .company(company)
+                .assignedTo(assignee)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+    }
+}
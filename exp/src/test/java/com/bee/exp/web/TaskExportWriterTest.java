@@ -0,0 +1,179 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.SubmissionStatus;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.repository.SubmissionExportRow;
+import com.bee.exp.repository.TaskExportRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskExportWriterTest {
+
+    record TaskRow(Long id, String title, String description, TaskDifficulty difficulty, Integer price,
+                   TaskStatus status, Long assignedEngineerId, String assignedEngineerName,
+                   Instant createdAt, Instant updatedAt) implements TaskExportRow {
+        public Long getId() { return id; }
+        public String getTitle() { return title; }
+        public String getDescription() { return description; }
+        public TaskDifficulty getDifficulty() { return difficulty; }
+        public Integer getPrice() { return price; }
+        public TaskStatus getStatus() { return status; }
+        public Long getAssignedEngineerId() { return assignedEngineerId; }
+        public String getAssignedEngineerName() { return assignedEngineerName; }
+        public Instant getCreatedAt() { return createdAt; }
+        public Instant getUpdatedAt() { return updatedAt; }
+    }
+
+    record SubmissionRow(Long id, Long taskId, Long engineerId, String engineerName, String engineerEmail,
+                         SubmissionStatus status, String notes, String attachmentUrl,
+                         Instant submittedAt, Instant reviewedAt) implements SubmissionExportRow {
+        public Long getId() { return id; }
+        public Long getTaskId() { return taskId; }
+        public Long getEngineerId() { return engineerId; }
+        public String getEngineerName() { return engineerName; }
+        public String getEngineerEmail() { return engineerEmail; }
+        public SubmissionStatus getStatus() { return status; }
+        public String getNotes() { return notes; }
+        public String getAttachmentUrl() { return attachmentUrl; }
+        public Instant getSubmittedAt() { return submittedAt; }
+        public Instant getReviewedAt() { return reviewedAt; }
+    }
+
+    private static final Instant T = Instant.parse("2024-05-01T10:00:00Z");
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    static Stream<Arguments> formulaNotes() {
+        return Stream.of(
+                Arguments.of("=1+2", "'=1+2"),
+                Arguments.of("+1", "'+1"),
+                Arguments.of("-2+3", "'-2+3"),
+                Arguments.of("@SUM(A1)", "'@SUM(A1)"),
+                Arguments.of("\tcmd", "'\tcmd"),
+                // Tırnaklanması gereken karakter de varsa ' tırnağın içinde kalır
+                Arguments.of("=HYPERLINK(\"http://x\")", "\"'=HYPERLINK(\"\"http://x\"\")\""),
+                Arguments.of("\rcmd", "\"'\rcmd\""),
+                Arguments.of("a=b", "a=b"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formulaNotes")
+    void csvNeutralizesFormulaPrefixes(String notes, String expected) throws IOException {
+        String csv = csv(submission(notes));
+
+        assertThat(csv.split("\n", 2)[1])
+                .isEqualTo("submission,1,,,,,,,3,7,Ada,ada@x.dev,SUBMITTED," + expected + ",,,," + T + ",\n");
+    }
+
+    @Test
+    void csvQuotesSeparatorsQuotesAndNewlines() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskExportWriter writer = TaskExportWriter.forFormat("csv", objectMapper.getFactory(), out);
+        writer.start();
+        writer.task(new TaskRow(1L, "a,b", "say \"hi\"\nbye", TaskDifficulty.EASY, 100, TaskStatus.PUBLISHED,
+                null, null, T, T));
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", 2);
+        assertThat(lines[0]).startsWith("record_type,task_id,title,description,");
+        assertThat(lines[1]).isEqualTo("task,1,\"a,b\",\"say \"\"hi\"\"\nbye\",EASY,100,PUBLISHED,,,,,,,,,"
+                + T + "," + T + ",,\n");
+    }
+
+    @Test
+    void csvLeavesPlainTextAndNumbersAlone() throws IOException {
+        String csv = csv(new TaskRow(-5L, "Fix login", null, TaskDifficulty.HARD, -10, TaskStatus.CLAIMED,
+                7L, "Ada", T, null));
+
+        // Sayılar metin değil: eksi işaretli olsalar da dokunulmaz
+        assertThat(csv.split("\n")[1]).isEqualTo("task,-5,Fix login,,HARD,-10,CLAIMED,7,,,Ada,,,,," + T + ",,,");
+    }
+
+    @Test
+    void ndjsonWritesOneTypedObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskExportWriter writer = TaskExportWriter.forFormat("ndjson", objectMapper.getFactory(), out);
+        writer.start();
+        writer.task(new TaskRow(1L, "=cmd", null, TaskDifficulty.EASY, null, TaskStatus.PUBLISHED, null, null, T, T));
+        writer.submission(submission("line1\nline2"));
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode task = objectMapper.readTree(lines[0]);
+        JsonNode submission = objectMapper.readTree(lines[1]);
+        assertThat(task.get("type").asText()).isEqualTo("task");
+        // JSON'da formül riski yok, metin olduğu gibi kalır
+        assertThat(task.get("title").asText()).isEqualTo("=cmd");
+        assertThat(task.has("price")).isFalse();
+        assertThat(submission.get("type").asText()).isEqualTo("submission");
+        assertThat(submission.get("notes").asText()).isEqualTo("line1\nline2");
+        assertThat(submission.get("submittedAt").asText()).isEqualTo(T.toString());
+    }
+
+    @Test
+    void firstRowIsFlushedImmediately() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskExportWriter writer = TaskExportWriter.forFormat("csv", objectMapper.getFactory(), out);
+        writer.start();
+        writer.submission(submission("n"));
+
+        // finish çağrılmadan ilk satır istemciye ulaşmış olmalı
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).hasSize(2);
+    }
+
+    @Test
+    void writeFailureSurfacesAsUncheckedIOException() throws IOException {
+        TaskExportWriter writer = TaskExportWriter.forFormat("csv", objectMapper.getFactory(),
+                new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        throw new IOException("Broken pipe");
+                    }
+                });
+
+        assertThatThrownBy(() -> writer.submission(submission("n")))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("Broken pipe");
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        assertThatThrownBy(() -> TaskExportWriter.forFormat("xml", objectMapper.getFactory(), new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(TaskExportWriter.contentType("CSV")).isEqualTo("text/csv;charset=UTF-8");
+        assertThat(TaskExportWriter.contentType("json")).isEqualTo("application/x-ndjson");
+    }
+
+    private static SubmissionRow submission(String notes) {
+        return new SubmissionRow(3L, 1L, 7L, "Ada", "ada@x.dev", SubmissionStatus.SUBMITTED, notes, null, T, null);
+    }
+
+    private String csv(Object row) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskExportWriter writer = TaskExportWriter.forFormat("csv", objectMapper.getFactory(), out);
+        writer.start();
+        if (row instanceof TaskExportRow t) {
+            writer.task(t);
+        } else {
+            writer.submission((SubmissionExportRow) row);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
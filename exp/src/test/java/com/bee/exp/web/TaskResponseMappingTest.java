@@ -0,0 +1,59 @@
+package com.bee.exp.web;
+
+import com.bee.exp.domain.Company;
+import com.bee.exp.domain.Task;
+import com.bee.exp.domain.TaskDifficulty;
+import com.bee.exp.domain.TaskStatus;
+import com.bee.exp.domain.User;
+import com.bee.exp.web.dto.TaskResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TaskController.toResponse / toResponses: JMH benchmark'ı (TaskResponseBenchmark) da bunları ölçer.
+ */
+class TaskResponseMappingTest {
+
+    @Test
+    void mapsTaskWithCompanyAndAssignee() {
+        Task task = Task.builder().id(5L).title("API").description("REST").difficulty(TaskDifficulty.MEDIUM)
+                .price(250).status(TaskStatus.CLAIMED)
+                .company(Company.builder().id(1L).name("Acme").build())
+                .assignedTo(User.builder().id(7L).fullName("Ada").build())
+                .build();
+
+        TaskResponse r = TaskController.toResponse(task);
+
+        assertThat(r.getId()).isEqualTo(5L);
+        assertThat(r.getTitle()).isEqualTo("API");
+        assertThat(r.getDescription()).isEqualTo("REST");
+        assertThat(r.getDifficulty()).isEqualTo(TaskDifficulty.MEDIUM);
+        assertThat(r.getPrice()).isEqualTo(250);
+        assertThat(r.getStatus()).isEqualTo(TaskStatus.CLAIMED);
+        assertThat(r.getCompanyName()).isEqualTo("Acme");
+        assertThat(r.getAssignedEngineerName()).isEqualTo("Ada");
+        // Kullanıcıya özel bayraklar çağıran tarafta doldurulur
+        assertThat(r.getClaimedByMe()).isFalse();
+        assertThat(r.getSubmittedByMe()).isFalse();
+    }
+
+    @Test
+    void missingRelationsLeaveNamesEmpty() {
+        TaskResponse r = TaskController.toResponse(Task.builder().id(5L).status(TaskStatus.PUBLISHED).build());
+
+        assertThat(r.getCompanyName()).isNull();
+        assertThat(r.getAssignedEngineerName()).isNull();
+    }
+
+    @Test
+    void listMappingKeepsOrder() {
+        List<TaskResponse> responses = TaskController.toResponses(List.of(
+                Task.builder().id(3L).build(), Task.builder().id(1L).build(), Task.builder().id(2L).build()));
+
+        assertThat(responses).extracting(TaskResponse::getId).containsExactly(3L, 1L, 2L);
+        assertThat(TaskController.toResponses(List.of())).isEmpty();
+    }
+}